@@ -1,5 +1,6 @@
 package com.logistics.auth.service;
 
+import com.logistics.auth.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -33,6 +34,10 @@ public class JwtService {
         claims.put("roles", authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        if (authentication.getPrincipal() instanceof User user) {
+            // Lets services match the caller against the user ids they store, e.g. a driver id
+            claims.put("userId", user.getId());
+        }
 
         return createToken(claims, username, jwtExpirationMs);
     }
@@ -0,0 +1,45 @@
+package com.logistics.common.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of looking up several resources by key in one call. {@code items} follows the order
+ * of the requested keys and holds {@code null} where a key was not found; those keys are also
+ * listed in {@code notFound}.
+ */
+public class MultiGetResult<K, T> {
+    private List<T> items;
+    private List<K> notFound;
+
+    public MultiGetResult() {
+    }
+
+    public MultiGetResult(List<T> items, List<K> notFound) {
+        this.items = items;
+        this.notFound = notFound;
+    }
+
+    public static <K, T> MultiGetResult<K, T> of(List<K> keys, Map<K, T> found) {
+        List<T> items = new ArrayList<>(keys.size());
+        Set<K> notFound = new LinkedHashSet<>();
+        for (K key : keys) {
+            T item = found.get(key);
+            items.add(item);
+            if (item == null) {
+                notFound.add(key);
+            }
+        }
+        return new MultiGetResult<>(items, new ArrayList<>(notFound));
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public List<K> getNotFound() { return notFound; }
+    public void setNotFound(List<K> notFound) { this.notFound = notFound; }
+}
@@ -0,0 +1,135 @@
+package com.logistics.common.jpa;
+
+import com.logistics.common.web.SparseFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * JPQL projection of an entity onto a DTO that selects only the columns of a {@link SparseFields} set.
+ * Each DTO property is mapped to its JPQL path and setter once; queries then list just the
+ * requested paths and fill a fresh DTO from each row, leaving the other properties unset.
+ */
+public final class SparseProjection<T> {
+
+    private final String entityName;
+    private final String alias;
+    private final Supplier<T> factory;
+    private final Map<String, Column<T>> columns;
+
+    private record Column<T>(String path, BiConsumer<T, Object> setter) {
+    }
+
+    private SparseProjection(String entityName, String alias, Supplier<T> factory, Map<String, Column<T>> columns) {
+        this.entityName = entityName;
+        this.alias = alias;
+        this.factory = factory;
+        this.columns = columns;
+    }
+
+    public static <T> Builder<T> builder(String entityName, String alias, Supplier<T> factory) {
+        return new Builder<>(entityName, alias, factory);
+    }
+
+    public Set<String> fieldNames() {
+        return columns.keySet();
+    }
+
+    /**
+     * One page of {@code fields}. {@code where} is appended after {@code FROM Entity alias}
+     * (with its leading space) and shared with the count query, which only runs when the
+     * page does not already determine the total.
+     */
+    public Page<T> page(EntityManager entityManager, SparseFields fields, String where,
+                        Map<String, ?> parameters, Pageable pageable) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                QueryUtils.applySorting(selectFrom(fields) + where, pageable.getSort(), alias), Object[].class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<T> content = map(fields, query.getResultList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery(
+                    "SELECT COUNT(" + alias + ") FROM " + entityName + " " + alias + where, Long.class);
+            parameters.forEach(countQuery::setParameter);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    private String selectFrom(SparseFields fields) {
+        fields.requireSupported(columns.keySet());
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (String name : selected(fields)) {
+            if (select.length() > "SELECT ".length()) {
+                select.append(", ");
+            }
+            select.append(columns.get(name).path());
+        }
+        return select.append(" FROM ").append(entityName).append(' ').append(alias).toString();
+    }
+
+    private List<T> map(SparseFields fields, List<Object[]> rows) {
+        List<Column<T>> selected = new ArrayList<>();
+        for (String name : selected(fields)) {
+            selected.add(columns.get(name));
+        }
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            T dto = factory.get();
+            for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).setter().accept(dto, row[i]);
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private Set<String> selected(SparseFields fields) {
+        return fields.isAll() ? columns.keySet() : fields.names();
+    }
+
+    public static final class Builder<T> {
+
+        private final String entityName;
+        private final String alias;
+        private final Supplier<T> factory;
+        private final Map<String, Column<T>> columns = new LinkedHashMap<>();
+
+        private Builder(String entityName, String alias, Supplier<T> factory) {
+            this.entityName = entityName;
+            this.alias = alias;
+            this.factory = factory;
+        }
+
+        /**
+         * Map DTO property {@code name} to the entity attribute of the same name.
+         */
+        public <V> Builder<T> field(String name, BiConsumer<T, V> setter) {
+            return field(name, alias + "." + name, setter);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <V> Builder<T> field(String name, String path, BiConsumer<T, V> setter) {
+            columns.put(name, new Column<>(path, (BiConsumer<T, Object>) setter));
+            return this;
+        }
+
+        public SparseProjection<T> build() {
+            return new SparseProjection<>(entityName, alias, factory, Collections.unmodifiableMap(new LinkedHashMap<>(columns)));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.logistics.common.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators of a single resource for conditional GETs: a weak ETag from the id and
+ * {@code updatedAt}, and {@code updatedAt} itself as Last-Modified.
+ * <p>
+ * Select it with a constructor expression
+ * ({@code SELECT new com.logistics.common.web.EntityFreshness(e.id, e.updatedAt) ...}) to learn
+ * whether the client's copy is current before the full row is loaded. Both values are taken
+ * at millisecond precision, so validators computed from a DTO and from the database agree.
+ */
+public record EntityFreshness(Object id, LocalDateTime updatedAt) {
+
+    public static EntityFreshness of(Object id, LocalDateTime updatedAt) {
+        return new EntityFreshness(id, updatedAt);
+    }
+
+    public String eTag() {
+        return "W/\"" + id + "-" + Math.max(lastModified(), 0) + "\"";
+    }
+
+    /**
+     * Epoch millis of {@code updatedAt} in the server's zone, or -1 when unknown.
+     */
+    public long lastModified() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Whether the request's If-None-Match (or, without it, If-Modified-Since) still matches.
+     * Unlike {@code WebRequest.checkNotModified}, this leaves the response untouched.
+     */
+    public boolean isNotModified(HttpServletRequest request) {
+        return new ServletWebRequest(request).checkNotModified(eTag(), lastModified());
+    }
+
+    public <T> ResponseEntity<T> notModified() {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+    }
+
+    public <T> ResponseEntity<T> notModified(CacheControl cacheControl) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * A 200 carrying these validators; Spring still answers 304 if they match the request.
+     */
+    public <T> ResponseEntity<T> ok(T body) {
+        return withValidators(ResponseEntity.ok()).body(body);
+    }
+
+    /**
+     * As {@link #ok(Object)}, with an explicit caching policy in place of Spring Security's
+     * {@code no-store} default.
+     */
+    public <T> ResponseEntity<T> ok(T body, CacheControl cacheControl) {
+        return withValidators(ResponseEntity.ok()).cacheControl(cacheControl).body(body);
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder) {
+        builder.eTag(eTag());
+        if (updatedAt != null) {
+            builder.lastModified(lastModified());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,83 @@
+package com.logistics.common.web;
+
+import com.logistics.common.exception.BusinessException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Field names requested through the {@code fields} query parameter ({@code ?fields=id,status}).
+ * An absent or blank parameter means all fields.
+ * <p>
+ * Declare it as a controller method parameter to have it parsed; the response is then
+ * serialized with only these properties on DTOs annotated {@code @JsonFilter(FILTER_ID)}.
+ */
+public final class SparseFields {
+
+    public static final String PARAMETER = "fields";
+
+    /**
+     * Jackson filter id that DTOs supporting sparse fieldsets are annotated with.
+     */
+    public static final String FILTER_ID = "sparseFields";
+
+    static final String REQUEST_ATTRIBUTE = SparseFields.class.getName();
+
+    private static final SparseFields ALL = new SparseFields(Set.of());
+
+    private final Set<String> names;
+
+    private SparseFields(Set<String> names) {
+        this.names = names;
+    }
+
+    public static SparseFields all() {
+        return ALL;
+    }
+
+    public static SparseFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return names.isEmpty() ? ALL : new SparseFields(Collections.unmodifiableSet(names));
+    }
+
+    public boolean isAll() {
+        return names.isEmpty();
+    }
+
+    /**
+     * The requested names in request order; empty when all fields are requested.
+     */
+    public Set<String> names() {
+        return names;
+    }
+
+    public boolean includes(String name) {
+        return isAll() || names.contains(name);
+    }
+
+    /**
+     * Reject names outside {@code supported}, so typos fail loudly instead of returning empty objects.
+     */
+    public SparseFields requireSupported(Set<String> supported) {
+        for (String name : names) {
+            if (!supported.contains(name)) {
+                throw new BusinessException("Unsupported field: " + name + ". Supported fields: " + supported);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", names);
+    }
+}
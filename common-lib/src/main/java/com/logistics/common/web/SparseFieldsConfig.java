@@ -0,0 +1,55 @@
+package com.logistics.common.web;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Wires {@link SparseFields}: resolves it as a controller argument and gives every
+ * application mapper a pass-through default for the {@link SparseFields#FILTER_ID} filter,
+ * so annotated DTOs serialize in full wherever no fieldset was requested.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SparseFieldsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(SparseFields.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new SparseFieldsArgumentResolver());
+    }
+
+    private static class SparseFieldsArgumentResolver implements HandlerMethodArgumentResolver {
+
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return parameter.getParameterType() == SparseFields.class;
+        }
+
+        @Override
+        public SparseFields resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+            SparseFields fields = SparseFields.parse(webRequest.getParameter(SparseFields.PARAMETER));
+            // Picked up again by SparseFieldsResponseAdvice when the body is written
+            webRequest.setAttribute(SparseFields.REQUEST_ATTRIBUTE, fields, RequestAttributes.SCOPE_REQUEST);
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.logistics.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for the /api/batch endpoint.
+ * {@code services} maps a public path prefix to the discovery id it is load-balanced to;
+ * the prefix is stripped like the StripPrefix=2 filter on the matching route, and the
+ * sub-request is charged to the rate limiter of the route with the same id as the service.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.batch")
+public class BatchProperties {
+
+    private int maxItems = 20;
+    private int concurrency = 6;
+    private Duration itemTimeout = Duration.ofSeconds(5);
+    private Map<String, String> services = new LinkedHashMap<>();
+
+    public int getMaxItems() { return maxItems; }
+    public void setMaxItems(int maxItems) { this.maxItems = maxItems; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public Duration getItemTimeout() { return itemTimeout; }
+    public void setItemTimeout(Duration itemTimeout) { this.itemTimeout = itemTimeout; }
+
+    public Map<String, String> getServices() { return services; }
+    public void setServices(Map<String, String> services) { this.services = services; }
+}
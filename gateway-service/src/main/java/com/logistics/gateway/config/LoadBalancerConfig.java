@@ -0,0 +1,38 @@
+package com.logistics.gateway.config;
+
+import com.logistics.gateway.service.AdaptiveLoadBalancer;
+import com.logistics.gateway.service.InstanceLoadStats;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces round-robin with {@link AdaptiveLoadBalancer} for every load-balanced service:
+ * the {@code lb://} routes and the batch endpoint's WebClient alike.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfig.AdaptiveLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Loaded into each service's own load balancer context, so deliberately not a
+     * {@code @Configuration} picked up by component scanning.
+     */
+    static class AdaptiveLoadBalancerConfiguration {
+
+        @Bean
+        public ReactorLoadBalancer<ServiceInstance> adaptiveLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                         InstanceLoadStats instanceLoadStats) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            return new AdaptiveLoadBalancer(
+                    loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                    instanceLoadStats);
+        }
+    }
+}
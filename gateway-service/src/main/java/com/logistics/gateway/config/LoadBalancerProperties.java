@@ -0,0 +1,43 @@
+package com.logistics.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the adaptive load balancer used for every {@code lb://} service.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LoadBalancerProperties {
+
+    /**
+     * Time constant of the response-time average: samples older than this weigh about a third.
+     */
+    private Duration decay = Duration.ofSeconds(10);
+    /**
+     * New instances ramp up to their full share of traffic over this period.
+     */
+    private Duration slowStart = Duration.ofSeconds(30);
+    /**
+     * Response time recorded for a failed call or a 5xx, so failing instances look slow.
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+    /**
+     * Statistics of instances not chosen or called for this long are dropped.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    public Duration getDecay() { return decay; }
+    public void setDecay(Duration decay) { this.decay = decay; }
+
+    public Duration getSlowStart() { return slowStart; }
+    public void setSlowStart(Duration slowStart) { this.slowStart = slowStart; }
+
+    public Duration getFailurePenalty() { return failurePenalty; }
+    public void setFailurePenalty(Duration failurePenalty) { this.failurePenalty = failurePenalty; }
+
+    public Duration getIdleTimeout() { return idleTimeout; }
+    public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+}
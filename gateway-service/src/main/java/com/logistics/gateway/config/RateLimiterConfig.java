@@ -0,0 +1,41 @@
+package com.logistics.gateway.config;
+
+import com.logistics.gateway.service.JwtService;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Keys for the RequestRateLimiter filter: one bucket per user for callers with a valid token,
+ * one per client IP for everyone else (including login and registration attempts).
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    @Bean
+    public KeyResolver callerKeyResolver(JwtService jwtService) {
+        return exchange -> {
+            // The token is checked here because route filters may run before the JWT filter
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
+                String token = authHeader.substring(7);
+                try {
+                    if (jwtService.validateJwtToken(token)) {
+                        return Mono.just("user:" + jwtService.getUsernameFromJwtToken(token));
+                    }
+                } catch (Exception e) {
+                    // Fall back to the client address
+                }
+            }
+            InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+            String ip = remoteAddress != null && remoteAddress.getAddress() != null
+                    ? remoteAddress.getAddress().getHostAddress() : "unknown";
+            return Mono.just("ip:" + ip);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.logistics.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the in-process rate limiter's bucket table, shared by every route with a
+ * RequestRateLimiter filter. Replenish rate and burst capacity are set per route.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limiter")
+public class RateLimiterProperties {
+
+    /**
+     * Buckets untouched this long are dropped; keep it above the slowest route's refill time
+     * (burst capacity / replenish rate) so an evicted bucket would have been full anyway.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    private long maxBuckets = 100_000;
+
+    public Duration getIdleTimeout() { return idleTimeout; }
+    public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+
+    public long getMaxBuckets() { return maxBuckets; }
+    public void setMaxBuckets(long maxBuckets) { this.maxBuckets = maxBuckets; }
+}
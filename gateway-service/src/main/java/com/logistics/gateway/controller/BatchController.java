@@ -0,0 +1,67 @@
+package com.logistics.gateway.controller;
+
+import com.logistics.gateway.config.BatchProperties;
+import com.logistics.gateway.dto.BatchRequest;
+import com.logistics.gateway.service.BatchDispatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Handler behind the {@code batch} route. Clients call {@code POST /api/batch}; the route runs
+ * the global filters, including JWT authentication, once for the whole batch and then
+ * forwards here.
+ */
+@RestController
+@RequestMapping("/internal")
+public class BatchController {
+
+    @Autowired
+    private BatchDispatchService batchDispatchService;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
+    @Autowired
+    private KeyResolver callerKeyResolver;
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<?>> batch(@RequestBody BatchRequest request, ServerWebExchange exchange) {
+        // Requests that did not come through the route skipped authentication
+        if (exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR) == null) {
+            return Mono.just(error(exchange, HttpStatus.NOT_FOUND, "No handler for " + exchange.getRequest().getURI().getPath()));
+        }
+        if (request.requests() == null || request.requests().isEmpty()) {
+            return Mono.just(error(exchange, HttpStatus.BAD_REQUEST, "A batch needs at least one request"));
+        }
+        if (request.requests().size() > batchProperties.getMaxItems()) {
+            return Mono.just(error(exchange, HttpStatus.BAD_REQUEST,
+                    "A batch holds at most " + batchProperties.getMaxItems() + " requests"));
+        }
+        return callerKeyResolver.resolve(exchange)
+                .flatMap(callerKey -> batchDispatchService.dispatch(request.requests(),
+                        exchange.getRequest().getHeaders(), callerKey))
+                .map(ResponseEntity::ok);
+    }
+
+    private ResponseEntity<?> error(ServerWebExchange exchange, HttpStatus status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", message);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        errorResponse.put("path", exchange.getRequest().getURI().getPath());
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
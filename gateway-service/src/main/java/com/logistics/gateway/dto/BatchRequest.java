@@ -0,0 +1,19 @@
+package com.logistics.gateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envelope of a batch call: the sub-requests are dispatched concurrently.
+ */
+public record BatchRequest(List<Item> requests) {
+
+    /**
+     * One sub-request. {@code path} is the public gateway path including any query string,
+     * e.g. {@code /api/transport/shipments/42}; {@code id} is echoed back on the result.
+     */
+    public record Item(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.logistics.gateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of a batch call, in the order of the sub-requests.
+ */
+public record BatchResponse(List<Item> responses) {
+
+    /**
+     * Outcome of one sub-request. Downstream statuses are passed through; the gateway answers
+     * 400 for a sub-request it will not dispatch, 502 when the call fails and 504 on timeout.
+     * JSON bodies are embedded as they are and other text as a string; binary bodies (for
+     * instance Smile) are base64 encoded and flagged with {@code Content-Transfer-Encoding: base64}.
+     */
+    public record Item(String id, int status, Map<String, String> headers, JsonNode body) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.logistics.gateway.filter;
+
+import com.logistics.gateway.service.CallerScopeResolver;
+import com.logistics.gateway.service.RequestCoalescer;
+import com.logistics.gateway.service.ResponseCache;
+import com.logistics.gateway.util.HttpCaching;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Coalesces identical concurrent GETs of a route into one upstream call (singleflight).
+ * <p>
+ * Requests match on route, caller scope, raw path and query, and the request headers a
+ * response may vary on, as in the response cache. The first one goes upstream; requests
+ * arriving while it is in flight wait up to {@code max-wait} and are answered with a copy of
+ * its response. They go upstream themselves when the wait runs out or the response cannot be
+ * shared: anything but a 200, a {@code Set-Cookie}, a {@code Vary} on any other header, a
+ * body over {@code max-body-size}, or, unless the scope is {@code USER}, a {@code no-store},
+ * {@code no-cache} or {@code private} response. Requests without a valid token are left to
+ * the JWT filter.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    /**
+     * Ahead of NettyWriteResponseFilter so the leader's response can be copied, and after the
+     * response cache so only cache misses are coalesced.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final RequestCoalescer requestCoalescer;
+    private final CallerScopeResolver callerScopeResolver;
+
+    public RequestCoalescingGatewayFilterFactory(RequestCoalescer requestCoalescer,
+                                                 CallerScopeResolver callerScopeResolver) {
+        super(Config.class);
+        this.requestCoalescer = requestCoalescer;
+        this.callerScopeResolver = callerScopeResolver;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        String scope = callerScopeResolver.resolve(exchange.getRequest().getHeaders(), config.getScope());
+        if (scope == null) {
+            return chain.filter(exchange);
+        }
+
+        RequestCoalescer.Flight flight = requestCoalescer.join(ResponseCache.Key.of(exchange, scope));
+        if (flight.leader()) {
+            ServerWebExchange leading = exchange.mutate()
+                    .response(new PublishingResponse(exchange.getResponse(), flight, config))
+                    .build();
+            // Errors, cancellation and bodiless responses still release the followers
+            return chain.filter(leading).doFinally(signal -> requestCoalescer.abandon(flight));
+        }
+        return flight.response()
+                .timeout(config.getMaxWait(), Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> shared.isPresent() ? replay(exchange, shared.get()) : chain.filter(exchange));
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, RequestCoalescer.Response shared) {
+        requestCoalescer.recordCoalesced();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpCaching.replayHeaders(shared.headers(), response.getHeaders());
+        if (HttpCaching.isNotModified(exchange.getRequest().getHeaders(), shared.headers())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static boolean isShareable(HttpStatusCode status, HttpHeaders headers, Config config) {
+        return status != null && status.value() == HttpStatus.OK.value()
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && HttpCaching.variesOnlyOnKeyedHeaders(headers)
+                && (config.getScope() == CallerScopeResolver.Scope.USER || isPublic(headers))
+                && headers.getContentLength() <= config.getMaxBodySize().toBytes();
+    }
+
+    /**
+     * Whether a response may go to callers other than the one it was produced for. Responses
+     * that are {@code no-store}, {@code no-cache} or {@code private} may have been authorized
+     * per user, so under a shared scope they are only ever sent to their own caller.
+     */
+    private static boolean isPublic(HttpHeaders headers) {
+        Map<String, String> directives = HttpCaching.directives(headers.get(HttpHeaders.CACHE_CONTROL));
+        return !directives.containsKey("no-store") && !directives.containsKey("no-cache")
+                && !directives.containsKey("private");
+    }
+
+    /**
+     * Writes the leader's response to its client while copying it for the followers.
+     */
+    private final class PublishingResponse extends ServerHttpResponseDecorator {
+
+        private final RequestCoalescer.Flight flight;
+        private final Config config;
+
+        PublishingResponse(ServerHttpResponse delegate, RequestCoalescer.Flight flight, Config config) {
+            super(delegate);
+            this.flight = flight;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isShareable(getStatusCode(), getHeaders(), config)) {
+                requestCoalescer.abandon(flight);
+                return super.writeWith(body);
+            }
+            HttpHeaders headers = HttpCaching.storedHeaders(getHeaders());
+            HttpCaching.BodyCopy copy = new HttpCaching.BodyCopy(config.getMaxBodySize().toBytes());
+            return super.writeWith(Flux.from(body)
+                    .map(copy::append)
+                    .doOnComplete(() -> {
+                        byte[] bytes = copy.toByteArray();
+                        if (bytes != null) {
+                            requestCoalescer.complete(flight, new RequestCoalescer.Response(headers, bytes));
+                        } else {
+                            requestCoalescer.abandon(flight);
+                        }
+                    }));
+        }
+    }
+
+    public static class Config {
+        private CallerScopeResolver.Scope scope = CallerScopeResolver.Scope.USER;
+        private Duration maxWait = Duration.ofSeconds(2);
+        private DataSize maxBodySize = DataSize.ofKilobytes(512);
+
+        public CallerScopeResolver.Scope getScope() { return scope; }
+        public void setScope(CallerScopeResolver.Scope scope) { this.scope = scope; }
+
+        public Duration getMaxWait() { return maxWait; }
+        public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+        public DataSize getMaxBodySize() { return maxBodySize; }
+        public void setMaxBodySize(DataSize maxBodySize) { this.maxBodySize = maxBodySize; }
+    }
+}
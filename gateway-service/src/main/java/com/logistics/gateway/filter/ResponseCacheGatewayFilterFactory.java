@@ -0,0 +1,289 @@
+package com.logistics.gateway.filter;
+
+import com.logistics.gateway.service.CallerScopeResolver;
+import com.logistics.gateway.service.ResponseCache;
+import com.logistics.gateway.util.HttpCaching;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Caches GET responses of a route in the gateway, so repeated reads never reach the service.
+ * <p>
+ * Entries are keyed by route, caller scope, raw path and query, and the request headers a
+ * response may vary on: {@code Accept}, {@code Accept-Encoding}, {@code Origin} and the CORS
+ * preflight headers. The scope
+ * comes from the caller's JWT, checked here since this filter runs ahead of the JWT filter:
+ * {@code USER} (username and roles), {@code ROLE} (roles only) or {@code SHARED}. Requests
+ * without a valid token bypass the cache and are left to the JWT filter.
+ * <p>
+ * A response is stored when it is a 200 without {@code Set-Cookie}, a {@code Vary} on any
+ * other header, {@code no-store} or {@code no-cache}; {@code private} responses only under {@code USER}
+ * scope. {@code s-maxage} (else {@code max-age}) caps the route's {@code ttl}. Past the TTL an
+ * entry is still served for {@code stale-while-revalidate} while one background request
+ * refreshes it, unless the response said {@code must-revalidate} or {@code proxy-revalidate}.
+ * Clients can skip the lookup with {@code Cache-Control: no-cache} or the cache altogether
+ * with {@code no-store}. {@code If-None-Match} and {@code If-Modified-Since} are answered
+ * here, against the cached or freshly fetched validators. CORS headers are never stored, and
+ * a replayed entry does not replace headers already set on the response.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    /**
+     * Response header telling whether the body came from the cache: HIT, STALE or MISS.
+     */
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private record Lifetime(long freshMillis, long staleMillis) {
+    }
+
+    private final ResponseCache responseCache;
+    private final CallerScopeResolver callerScopeResolver;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache, CallerScopeResolver callerScopeResolver) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.callerScopeResolver = callerScopeResolver;
+    }
+
+    /**
+     * Ahead of NettyWriteResponseFilter, so the response it writes goes through the capturing
+     * decorator, and ahead of request coalescing, so only cache misses are coalesced.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Map<String, String> directives = HttpCaching.directives(request.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+        if (directives.containsKey("no-store")) {
+            return chain.filter(exchange);
+        }
+        String scope = callerScopeResolver.resolve(request.getHeaders(), config.getScope());
+        if (scope == null) {
+            return chain.filter(exchange);
+        }
+
+        ResponseCache.Key key = ResponseCache.Key.of(exchange, scope);
+        boolean refresh = directives.containsKey("no-cache") || "0".equals(directives.get("max-age"))
+                || "no-cache".equalsIgnoreCase(request.getHeaders().getFirst(HttpHeaders.PRAGMA));
+        if (!refresh) {
+            ResponseCache.Entry entry = responseCache.get(key);
+            long now = System.currentTimeMillis();
+            if (entry != null && entry.isFresh(now)) {
+                return serve(exchange, entry, now, "HIT");
+            }
+            if (entry != null && entry.isUsableStale(now)) {
+                revalidate(exchange, chain, key, config);
+                return serve(exchange, entry, now, "STALE");
+            }
+        }
+
+        // Validators are evaluated here against the full response, which is what gets cached
+        HttpHeaders conditions = HttpCaching.conditions(request.getHeaders());
+        ServerWebExchange capturing = exchange.mutate()
+                .request(builder -> builder.headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                }))
+                .response(new CapturingResponse(exchange.getResponse(), key, config, conditions))
+                .build();
+        return chain.filter(capturing);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, ResponseCache.Entry entry, long now, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        HttpCaching.replayHeaders(entry.headers(), headers);
+        headers.set(HttpHeaders.AGE, String.valueOf(entry.ageMillis(now) / 1000));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        if (HttpCaching.isNotModified(exchange.getRequest().getHeaders(), entry.headers())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.body())));
+    }
+
+    /**
+     * Refresh a stale entry in the background: the rest of the chain runs again against a
+     * detached response whose body only feeds the cache. At most one refresh per key at a time.
+     */
+    private void revalidate(ServerWebExchange exchange, GatewayFilterChain chain, ResponseCache.Key key, Config config) {
+        if (!responseCache.startRevalidation(key)) {
+            return;
+        }
+        ServerHttpResponse detached = new DetachedResponse(exchange.getResponse().bufferFactory());
+        ServerWebExchange background = exchange.mutate()
+                .request(builder -> builder.headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                }))
+                .response(new CapturingResponse(detached, key, config, new HttpHeaders()))
+                .build();
+        chain.filter(background)
+                // A failed refresh keeps serving the stale entry until it expires
+                .onErrorResume(error -> Mono.empty())
+                .doFinally(signal -> responseCache.finishRevalidation(key))
+                .subscribe();
+    }
+
+    private Lifetime lifetime(HttpStatusCode status, HttpHeaders headers, Config config) {
+        if (status == null || status.value() != HttpStatus.OK.value()
+                || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || !HttpCaching.variesOnlyOnKeyedHeaders(headers)
+                || headers.getContentLength() > responseCache.getMaxEntrySize()) {
+            return null;
+        }
+        Map<String, String> directives = HttpCaching.directives(headers.get(HttpHeaders.CACHE_CONTROL));
+        if (directives.containsKey("no-store") || directives.containsKey("no-cache")
+                || (directives.containsKey("private") && config.getScope() != CallerScopeResolver.Scope.USER)) {
+            return null;
+        }
+        long fresh = config.getTtl().toMillis();
+        String maxAge = directives.containsKey("s-maxage") ? directives.get("s-maxage") : directives.get("max-age");
+        if (maxAge != null) {
+            fresh = Math.min(fresh, HttpCaching.seconds(maxAge) * 1000);
+        }
+        if (fresh <= 0) {
+            return null;
+        }
+        long stale = config.getStaleWhileRevalidate().toMillis();
+        if (directives.containsKey("must-revalidate") || directives.containsKey("proxy-revalidate")) {
+            stale = 0;
+        } else if (directives.containsKey("stale-while-revalidate")) {
+            stale = Math.min(stale, HttpCaching.seconds(directives.get("stale-while-revalidate")) * 1000);
+        }
+        return new Lifetime(fresh, stale);
+    }
+
+    /**
+     * Passes the response through while copying a cacheable body into the cache. When the
+     * client's validators match, the body is only captured and the client gets a 304.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCache.Key key;
+        private final Config config;
+        private final HttpHeaders conditions;
+
+        CapturingResponse(ServerHttpResponse delegate, ResponseCache.Key key, Config config, HttpHeaders conditions) {
+            super(delegate);
+            this.key = key;
+            this.config = config;
+            this.conditions = conditions;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            Lifetime lifetime = lifetime(getStatusCode(), getHeaders(), config);
+            Flux<DataBuffer> content = Flux.from(body);
+            if (lifetime != null) {
+                HttpCaching.BodyCopy copy = new HttpCaching.BodyCopy(responseCache.getMaxEntrySize());
+                HttpHeaders stored = HttpCaching.storedHeaders(getHeaders());
+                content = content.map(copy::append)
+                        .doOnComplete(() -> {
+                            byte[] bytes = copy.toByteArray();
+                            if (bytes != null) {
+                                responseCache.put(key, new ResponseCache.Entry(stored, bytes,
+                                        System.currentTimeMillis(), lifetime.freshMillis(), lifetime.staleMillis()));
+                            }
+                        });
+            }
+            if (getStatusCode() != null && getStatusCode().value() == HttpStatus.OK.value()
+                    && HttpCaching.isNotModified(conditions, getHeaders())) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                return content.doOnNext(DataBufferUtils::release).then(Mono.defer(super::setComplete));
+            }
+            return super.writeWith(content);
+        }
+    }
+
+    /**
+     * Response of a background refresh: status and headers are kept, the body is discarded
+     * once the capturing decorator has copied it.
+     */
+    private static final class DetachedResponse extends AbstractServerHttpResponse {
+
+        DetachedResponse(DataBufferFactory bufferFactory) {
+            super(bufferFactory);
+        }
+
+        @Override
+        public <T> T getNativeResponse() {
+            throw new IllegalStateException("A detached response has no native response");
+        }
+
+        @Override
+        protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+            return Flux.from(body).doOnNext(DataBufferUtils::release).then();
+        }
+
+        @Override
+        protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return Flux.from(body).concatMap(Flux::from).doOnNext(DataBufferUtils::release).then();
+        }
+
+        @Override
+        protected void applyStatusCode() {
+        }
+
+        @Override
+        protected void applyHeaders() {
+        }
+
+        @Override
+        protected void applyCookies() {
+        }
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private Duration staleWhileRevalidate = Duration.ZERO;
+        private CallerScopeResolver.Scope scope = CallerScopeResolver.Scope.USER;
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public Duration getStaleWhileRevalidate() { return staleWhileRevalidate; }
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) { this.staleWhileRevalidate = staleWhileRevalidate; }
+
+        public CallerScopeResolver.Scope getScope() { return scope; }
+        public void setScope(CallerScopeResolver.Scope scope) { this.scope = scope; }
+    }
+}
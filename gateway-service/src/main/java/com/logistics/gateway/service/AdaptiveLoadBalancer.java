@@ -0,0 +1,78 @@
+package com.logistics.gateway.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Least-loaded balancing by power of two choices: two distinct instances are drawn at random
+ * and the one with the lower {@link InstanceLoadStats#cost cost} (response-time average times
+ * calls in flight, inflated during slow start) gets the call. A busy or slow instance keeps
+ * losing the comparison until it recovers, without every gateway herding onto one node.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+public class AdaptiveLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    /**
+     * Assumed response time of two instances that have no samples yet.
+     */
+    private static final double UNKNOWN_LATENCY_NANOS = 1_000_000;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final InstanceLoadStats instanceLoadStats;
+
+    public AdaptiveLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                InstanceLoadStats instanceLoadStats) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.instanceLoadStats = instanceLoadStats;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        // An instance without samples is compared as if it were as fast as the other one
+        double latencyA = instanceLoadStats.latency(a);
+        double latencyB = instanceLoadStats.latency(b);
+        double costA = instanceLoadStats.cost(a, latencyB >= 0 ? latencyB : UNKNOWN_LATENCY_NANOS);
+        double costB = instanceLoadStats.cost(b, latencyA >= 0 ? latencyA : UNKNOWN_LATENCY_NANOS);
+        return new DefaultResponse(costA <= costB ? a : b);
+    }
+}
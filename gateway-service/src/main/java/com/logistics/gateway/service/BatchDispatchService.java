@@ -0,0 +1,237 @@
+package com.logistics.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.logistics.gateway.config.BatchProperties;
+import com.logistics.gateway.dto.BatchRequest;
+import com.logistics.gateway.dto.BatchResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dispatches the sub-requests of a batch call straight to the load-balanced services,
+ * at most {@code gateway.batch.concurrency} at a time and each bounded by
+ * {@code gateway.batch.item-timeout}. The caller was authenticated once by the JWT filter;
+ * its identity headers are copied onto every sub-request. Each sub-request also takes a token
+ * from the caller's bucket of the route it bypasses (the route with its service's id), so a
+ * batch is rate limited like the same requests sent one by one.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class BatchDispatchService {
+
+    private static final Set<HttpMethod> METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    /**
+     * Headers set by the JWT filter (plus the caller's token); sub-requests cannot override them.
+     */
+    private static final Set<String> IDENTITY_HEADERS = caseInsensitive(HttpHeaders.AUTHORIZATION,
+            "X-User-Name", "X-User-Roles", "X-Auth-Token", "X-Request-Source");
+
+    private static final Set<String> DROPPED_HEADERS = caseInsensitive(HttpHeaders.HOST, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING);
+
+    private static final String CONTENT_TRANSFER_ENCODING = "Content-Transfer-Encoding";
+
+    private static final List<String> RETURNED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION, HttpHeaders.CACHE_CONTROL);
+
+    private final BatchProperties properties;
+    private final WebClient webClient;
+    private final RateLimiter<?> rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public BatchDispatchService(BatchProperties properties, WebClient.Builder webClientBuilder,
+                                ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                LocalRateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.webClient = webClientBuilder.filter(loadBalancer).build();
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs every sub-request and returns the results in request order. A failing sub-request
+     * becomes an error item; it never fails the batch as a whole.
+     *
+     * @param items the sub-requests
+     * @param callerHeaders headers of the authenticated batch request
+     * @param callerKey the caller's rate limiter key
+     * @return the combined response
+     */
+    public Mono<BatchResponse> dispatch(List<BatchRequest.Item> items, HttpHeaders callerHeaders, String callerKey) {
+        HttpHeaders identity = new HttpHeaders();
+        callerHeaders.forEach((name, values) -> {
+            if (IDENTITY_HEADERS.contains(name)) {
+                identity.addAll(name, values);
+            }
+        });
+        return Flux.fromIterable(items)
+                .flatMapSequential(item -> dispatch(item, identity, callerKey), Math.max(1, properties.getConcurrency()))
+                .collectList()
+                .map(BatchResponse::new);
+    }
+
+    private Mono<BatchResponse.Item> dispatch(BatchRequest.Item item, HttpHeaders identity, String callerKey) {
+        HttpMethod method = item.method() == null
+                ? HttpMethod.GET
+                : HttpMethod.valueOf(item.method().toUpperCase(Locale.ROOT));
+        if (!METHODS.contains(method)) {
+            return Mono.just(error(item, 400, "Unsupported method: " + item.method()));
+        }
+        URI target = resolve(item.path());
+        if (target == null) {
+            return Mono.just(error(item, 400, "Path cannot be dispatched from a batch: " + item.path()));
+        }
+
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(target)
+                .headers(headers -> {
+                    if (item.headers() != null) {
+                        item.headers().forEach((name, value) -> {
+                            if (!IDENTITY_HEADERS.contains(name) && !DROPPED_HEADERS.contains(name)) {
+                                headers.set(name, value);
+                            }
+                        });
+                    }
+                    headers.addAll(identity);
+                });
+        WebClient.RequestHeadersSpec<?> call = item.body() == null || item.body().isNull()
+                ? request
+                : request.contentType(MediaType.APPLICATION_JSON).bodyValue(item.body());
+
+        // The service id in the target is also the id of the route whose limits apply
+        return Mono.defer(() -> rateLimiter.isAllowed(target.getHost(), callerKey))
+                .flatMap(limit -> limit.isAllowed()
+                        ? call.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                                .defaultIfEmpty(new byte[0])
+                                .map(bytes -> toItem(item, response, bytes)))
+                        : Mono.just(throttled(item, limit)))
+                .timeout(properties.getItemTimeout())
+                .onErrorResume(TimeoutException.class, e -> Mono.just(
+                        error(item, 504, "No response within " + properties.getItemTimeout().toMillis() + " ms")))
+                .onErrorResume(e -> Mono.just(error(item, 502, "Dispatch failed: " + e.getMessage())));
+    }
+
+    /**
+     * Maps a public gateway path onto {@code http://<service-id>/<rest>} for the load balancer,
+     * or null when no configured prefix matches or the path tries to leave its prefix.
+     */
+    private URI resolve(String path) {
+        if (path == null || !path.startsWith("/")) {
+            return null;
+        }
+        URI uri;
+        try {
+            uri = URI.create(path);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String rawPath = uri.getRawPath();
+        if (rawPath == null || Arrays.asList(rawPath.split("/")).contains("..")) {
+            return null;
+        }
+        for (Map.Entry<String, String> service : properties.getServices().entrySet()) {
+            String prefix = service.getKey();
+            if (rawPath.equals(prefix) || rawPath.startsWith(prefix + "/")) {
+                String rest = rawPath.length() == prefix.length() ? "/" : rawPath.substring(prefix.length());
+                String query = uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "";
+                return URI.create("http://" + service.getValue() + rest + query);
+            }
+        }
+        return null;
+    }
+
+    private BatchResponse.Item toItem(BatchRequest.Item item, ClientResponse response, byte[] bytes) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : RETURNED_HEADERS) {
+            String value = response.headers().asHttpHeaders().getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        MediaType contentType = response.headers().contentType().orElse(null);
+        if (bytes.length > 0 && !isText(contentType)) {
+            // Binary payloads such as Smile cannot be embedded in the JSON envelope as they are
+            headers.put(CONTENT_TRANSFER_ENCODING, "base64");
+            return new BatchResponse.Item(item.id(), response.statusCode().value(), headers, BinaryNode.valueOf(bytes));
+        }
+        return new BatchResponse.Item(item.id(), response.statusCode().value(), headers, toBody(bytes, contentType));
+    }
+
+    private JsonNode toBody(byte[] bytes, MediaType contentType) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+        if (contentType != null && isJson(contentType)) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (IOException e) {
+                // Fall through and hand the payload back as text
+            }
+        }
+        return TextNode.valueOf(new String(bytes, charset));
+    }
+
+    /**
+     * Whether a body of this type can be handed back as a string; untyped bodies are assumed to be text.
+     */
+    private static boolean isText(MediaType contentType) {
+        if (contentType == null || "text".equals(contentType.getType()) || isJson(contentType)) {
+            return true;
+        }
+        String subtype = contentType.getSubtype();
+        return subtype.equals("xml") || subtype.endsWith("+xml")
+                || MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType);
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return MediaType.APPLICATION_JSON.isCompatibleWith(contentType) || contentType.getSubtype().endsWith("+json");
+    }
+
+    private static BatchResponse.Item throttled(BatchRequest.Item item, RateLimiter.Response limit) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        return new BatchResponse.Item(item.id(), status.value(), new LinkedHashMap<>(limit.getHeaders()),
+                TextNode.valueOf(status.getReasonPhrase()));
+    }
+
+    private static BatchResponse.Item error(BatchRequest.Item item, int status, String message) {
+        return new BatchResponse.Item(item.id(), status, Map.of(), TextNode.valueOf(message));
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(Arrays.asList(names));
+        return set;
+    }
+}
@@ -0,0 +1,64 @@
+package com.logistics.gateway.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Derives from the caller's bearer token which callers may share a response.
+ * Filters ordered ahead of the JWT filter use it to partition what they replay.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Service
+public class CallerScopeResolver {
+
+    /**
+     * USER: same username and roles; ROLE: same set of roles; SHARED: any authenticated caller.
+     */
+    public enum Scope {
+        USER, ROLE, SHARED
+    }
+
+    private final JwtService jwtService;
+
+    public CallerScopeResolver(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * The scope key of a request, or null when it carries no valid bearer token.
+     */
+    public String resolve(HttpHeaders headers, Scope scope) {
+        String authHeader = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authHeader.substring(7);
+        try {
+            if (!jwtService.validateJwtToken(token)) {
+                return null;
+            }
+            String username = jwtService.getUsernameFromJwtToken(token);
+            if (!StringUtils.hasText(username)) {
+                return null;
+            }
+            List<String> roles = jwtService.getRolesFromJwtToken(token);
+            List<String> sortedRoles = roles != null ? new ArrayList<>(roles) : new ArrayList<>();
+            Collections.sort(sortedRoles);
+            String roleScope = "roles:" + String.join(",", sortedRoles);
+            return switch (scope) {
+                case USER -> "user:" + username + "|" + roleScope;
+                case ROLE -> roleScope;
+                case SHARED -> "shared";
+            };
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
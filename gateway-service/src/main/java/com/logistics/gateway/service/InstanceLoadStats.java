@@ -0,0 +1,158 @@
+package com.logistics.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logistics.gateway.config.LoadBalancerProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live load of each service instance as seen from this gateway: calls in flight and a
+ * peak-sensitive moving average of response times. Fed by the load balancer lifecycle of both
+ * the {@code lb://} routes and the batch WebClient; read by {@link AdaptiveLoadBalancer}.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class InstanceLoadStats implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final Cache<String, Load> loads;
+    private final long decayNanos;
+    private final long slowStartNanos;
+    private final long failurePenaltyNanos;
+
+    public InstanceLoadStats(LoadBalancerProperties properties) {
+        this.decayNanos = Math.max(1, properties.getDecay().toNanos());
+        this.slowStartNanos = properties.getSlowStart().toNanos();
+        this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+        this.loads = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        load(lbResponse.getServer()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        Load load = loads.getIfPresent(key(lbResponse.getServer()));
+        if (load == null) {
+            return;
+        }
+        load.inFlight.updateAndGet(count -> Math.max(0, count - 1));
+        if (!(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed)
+                || timed.getRequestStartTime() == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - timed.getRequestStartTime();
+        if (isFailure(completionContext)) {
+            elapsed = Math.max(elapsed, failurePenaltyNanos);
+        }
+        load.observe(elapsed, now, decayNanos);
+    }
+
+    /**
+     * Expected cost of sending one more call to {@code instance}: its decayed response time
+     * times the calls it would then have in flight, inflated while it is still slow-starting.
+     * Instances without samples are assumed as fast as {@code fallbackNanos}.
+     */
+    public double cost(ServiceInstance instance, double fallbackNanos) {
+        Load load = load(instance);
+        long now = System.nanoTime();
+        double latency = load.latency(now, decayNanos);
+        if (latency < 0) {
+            latency = fallbackNanos;
+        }
+        double cost = Math.max(latency, 1) * (load.inFlight.get() + 1);
+        if (slowStartNanos > 0) {
+            double warm = (double) (now - load.firstSeen) / slowStartNanos;
+            cost /= Math.min(1.0, Math.max(0.1, warm));
+        }
+        return cost;
+    }
+
+    /**
+     * Decayed response-time average of {@code instance} in nanos, or -1 without samples.
+     */
+    public double latency(ServiceInstance instance) {
+        return load(instance).latency(System.nanoTime(), decayNanos);
+    }
+
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+    }
+
+    private Load load(ServiceInstance instance) {
+        return loads.get(key(instance), key -> new Load(System.nanoTime()));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "|" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static final class Load {
+
+        private final long firstSeen;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double averageNanos = -1;
+        private long updatedAt;
+
+        Load(long firstSeen) {
+            this.firstSeen = firstSeen;
+        }
+
+        /**
+         * A slower sample replaces the average outright; faster ones blend in by elapsed time.
+         */
+        synchronized void observe(long sampleNanos, long now, long decayNanos) {
+            if (averageNanos < 0 || sampleNanos > averageNanos) {
+                averageNanos = sampleNanos;
+            } else {
+                double weight = Math.exp(-(double) Math.max(0, now - updatedAt) / decayNanos);
+                averageNanos = averageNanos * weight + sampleNanos * (1 - weight);
+            }
+            updatedAt = now;
+        }
+
+        /**
+         * The average decays toward zero while no calls complete, so an instance that once
+         * looked slow is tried again.
+         */
+        synchronized double latency(long now, long decayNanos) {
+            if (averageNanos < 0) {
+                return -1;
+            }
+            return averageNanos * Math.exp(-(double) Math.max(0, now - updatedAt) / decayNanos);
+        }
+    }
+}
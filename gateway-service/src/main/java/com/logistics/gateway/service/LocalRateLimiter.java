@@ -0,0 +1,123 @@
+package com.logistics.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logistics.gateway.config.RateLimiterProperties;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.route.RouteDefinitionRouteLocator;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket {@code RateLimiter} for the RequestRateLimiter filter, kept in gateway memory.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (GCRA), so taking tokens is one compare-and-set with no locks. Buckets live in a Caffeine
+ * table keyed by route and caller, and are dropped after {@code gateway.rate-limiter.idle-timeout}
+ * without requests. Replenish rate and burst capacity are set per route under
+ * {@code local-rate-limiter.*}.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public LocalRateLimiter(RateLimiterProperties properties, ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .maximumSize(properties.getMaxBuckets())
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = loadConfiguration(routeId);
+        AtomicLong bucket = buckets.get(routeId + "|" + id, key -> new AtomicLong());
+        return Mono.just(take(bucket, config, System.nanoTime()));
+    }
+
+    /**
+     * Take {@code requestedTokens} from the bucket. The bucket stores its "full again" time:
+     * every token pushes that time one emission interval further, and a request is refused
+     * when it would push it more than {@code burstCapacity} intervals past now.
+     */
+    private Response take(AtomicLong bucket, Config config, long now) {
+        long interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long tolerance = interval * config.getBurstCapacity();
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + interval * config.getRequestedTokens();
+            if (next - now > tolerance) {
+                Map<String, String> headers = headers(config, (tolerance - (Math.max(fullAt, now) - now)) / interval);
+                long waitNanos = next - now - tolerance;
+                headers.put(HttpHeaders.RETRY_AFTER, String.valueOf((waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+                return new Response(false, headers);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return new Response(true, headers(config, (tolerance - (next - now)) / interval));
+            }
+        }
+    }
+
+    private Config loadConfiguration(String routeId) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            config = getConfig().get(RouteDefinitionRouteLocator.DEFAULT_FILTERS);
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("No rate limiter configuration found for route " + routeId);
+        }
+        if (config.getReplenishRate() < 1 || config.getBurstCapacity() < config.getRequestedTokens()) {
+            throw new IllegalArgumentException("Invalid rate limiter configuration for route " + routeId
+                    + ": replenish-rate must be positive and burst-capacity at least requested-tokens");
+        }
+        return config;
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+        return headers;
+    }
+
+    public static class Config {
+        /** Tokens added per second. */
+        private int replenishRate = 10;
+        /** Most tokens a bucket holds, i.e. the largest burst allowed. */
+        private int burstCapacity = 20;
+        /** Tokens a single request costs. */
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() { return replenishRate; }
+        public void setReplenishRate(int replenishRate) { this.replenishRate = replenishRate; }
+
+        public int getBurstCapacity() { return burstCapacity; }
+        public void setBurstCapacity(int burstCapacity) { this.burstCapacity = burstCapacity; }
+
+        public int getRequestedTokens() { return requestedTokens; }
+        public void setRequestedTokens(int requestedTokens) { this.requestedTokens = requestedTokens; }
+    }
+}
@@ -0,0 +1,84 @@
+package com.logistics.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of upstream GETs in flight, so identical concurrent requests share one call.
+ * The first request for a key leads and publishes its response; the others follow and
+ * replay it. Keys are the same as the response cache's.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class RequestCoalescer {
+
+    /**
+     * A complete 200 response published by a leader.
+     */
+    public record Response(HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * One caller's view of an in-flight request: either its leader or a follower.
+     */
+    public record Flight(ResponseCache.Key key, Sinks.One<Response> sink, boolean leader) {
+
+        /**
+         * The leader's response, or empty if it could not be shared.
+         */
+        public Mono<Response> response() {
+            return sink.asMono();
+        }
+    }
+
+    private final Map<ResponseCache.Key, Sinks.One<Response>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("gateway.requests.coalesced")
+                .description("GET requests answered from another in-flight request's response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lead the request for {@code key}, or follow the one already in flight.
+     */
+    public Flight join(ResponseCache.Key key) {
+        Sinks.One<Response> created = Sinks.one();
+        Sinks.One<Response> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return new Flight(key, existing, false);
+        }
+        return new Flight(key, created, true);
+    }
+
+    /**
+     * Publish the leader's response to its followers and close the flight.
+     */
+    public void complete(Flight flight, Response response) {
+        inFlight.remove(flight.key(), flight.sink());
+        flight.sink().tryEmitValue(response);
+    }
+
+    /**
+     * Close the flight without a shareable response; followers that are still waiting go
+     * upstream themselves. No-op once the flight has completed.
+     */
+    public void abandon(Flight flight) {
+        inFlight.remove(flight.key(), flight.sink());
+        flight.sink().tryEmitEmpty();
+    }
+
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+}
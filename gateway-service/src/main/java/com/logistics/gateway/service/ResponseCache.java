@@ -0,0 +1,132 @@
+package com.logistics.gateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.logistics.gateway.config.ResponseCacheProperties;
+import com.logistics.gateway.util.HttpCaching;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process store of cached GET responses, bounded by the total size of the bodies and
+ * headers it holds. An entry expires once it is past both its freshness lifetime and its
+ * stale-while-revalidate window.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Cache key: the route, the caller scope (user or role set), the raw path and query, and the
+     * request headers a response may vary on (see {@link HttpCaching#keyedValues}).
+     */
+    public record Key(String routeId, String scope, String pathAndQuery, List<String> varying) {
+
+        public static Key of(ServerWebExchange exchange, String scope) {
+            ServerHttpRequest request = exchange.getRequest();
+            return new Key(HttpCaching.routeId(exchange), scope, HttpCaching.pathAndQuery(request.getURI()),
+                    HttpCaching.keyedValues(request.getHeaders()));
+        }
+    }
+
+    /**
+     * A stored 200 response. Times are epoch millis; {@code freshMillis} and {@code staleMillis}
+     * are the lifetimes granted when it was stored.
+     */
+    public record Entry(HttpHeaders headers, byte[] body, long storedAt, long freshMillis, long staleMillis) {
+
+        public long ageMillis(long now) {
+            return Math.max(0, now - storedAt);
+        }
+
+        public boolean isFresh(long now) {
+            return ageMillis(now) < freshMillis;
+        }
+
+        public boolean isUsableStale(long now) {
+            return ageMillis(now) < freshMillis + staleMillis;
+        }
+    }
+
+    private final Cache<Key, Entry> entries;
+    private final Set<Key> revalidating = ConcurrentHashMap.newKeySet();
+    private final long maxEntrySize;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntrySize = properties.getMaxEntrySize().toBytes();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Key key, Entry entry) -> weigh(key, entry))
+                .expireAfter(new Expiry<Key, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+                        return (entry.freshMillis() + entry.staleMillis()) * 1_000_000L;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "gateway.responses");
+    }
+
+    public Entry get(Key key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(Key key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * Largest body, in bytes, that is captured for caching.
+     */
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Claim the background refresh of {@code key}; false while another one is already running.
+     */
+    public boolean startRevalidation(Key key) {
+        return revalidating.add(key);
+    }
+
+    public void finishRevalidation(Key key) {
+        revalidating.remove(key);
+    }
+
+    private static int weigh(Key key, Entry entry) {
+        long weight = entry.body().length + key.pathAndQuery().length();
+        for (String value : key.varying()) {
+            weight += value.length();
+        }
+        for (Map.Entry<String, List<String>> header : entry.headers().entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
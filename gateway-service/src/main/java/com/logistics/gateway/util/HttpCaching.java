@@ -0,0 +1,235 @@
+package com.logistics.gateway.util;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * HTTP caching helpers shared by the gateway filters that replay upstream responses:
+ * Cache-Control parsing, validator checks, Vary handling and the headers worth keeping
+ * with a body.
+ *
+ * @author Logistics Platform Team
+ * @version 1.0.0
+ */
+public final class HttpCaching {
+
+    /**
+     * Per-connection and per-delivery headers that must not be replayed with a stored body.
+     */
+    private static final Set<String> UNSTORED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Prefix of the CORS response headers; those are the gateway's to set for each request.
+     */
+    private static final String CORS_HEADER_PREFIX = "Access-Control-";
+
+    /**
+     * Request headers that are part of the replay key, so responses may vary on them: content
+     * negotiation plus the ones Spring's CORS support names in {@code Vary}.
+     */
+    private static final List<String> KEYED_REQUEST_HEADERS = List.of(HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ORIGIN, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    private static final Set<String> KEYED_HEADER_NAMES = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        Collections.addAll(UNSTORED_HEADERS, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.AGE, "X-Cache");
+        KEYED_HEADER_NAMES.addAll(KEYED_REQUEST_HEADERS);
+    }
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Cache-Control directives by lower-case name; valueless directives map to "".
+     */
+    public static Map<String, String> directives(List<String> headerValues) {
+        Map<String, String> directives = new HashMap<>();
+        if (headerValues == null) {
+            return directives;
+        }
+        for (String headerValue : headerValues) {
+            for (String directive : headerValue.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                if (!parts[0].isEmpty()) {
+                    directives.put(parts[0].toLowerCase(Locale.ROOT),
+                            parts.length > 1 ? parts[1].trim().replace("\"", "") : "");
+                }
+            }
+        }
+        return directives;
+    }
+
+    /**
+     * Delta-seconds of a directive, 0 when missing or malformed.
+     */
+    public static long seconds(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Whether the request's If-None-Match (weak comparison), or without it If-Modified-Since,
+     * matches the response's validators.
+     */
+    public static boolean isNotModified(HttpHeaders requestHeaders, HttpHeaders responseHeaders) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String eTag = responseHeaders.getETag();
+            if (eTag == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch) {
+                if ("*".equals(candidate) || weak(candidate).equals(weak(eTag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        long lastModified = responseHeaders.getLastModified();
+        return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Just the If-None-Match and If-Modified-Since headers of a request.
+     */
+    public static HttpHeaders conditions(HttpHeaders requestHeaders) {
+        HttpHeaders conditions = new HttpHeaders();
+        List<String> ifNoneMatch = requestHeaders.get(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            conditions.put(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        List<String> ifModifiedSince = requestHeaders.get(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            conditions.put(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+        }
+        return conditions;
+    }
+
+    /**
+     * Values of the request headers a replayed response may vary on, in a fixed order.
+     */
+    public static List<String> keyedValues(HttpHeaders requestHeaders) {
+        List<String> values = new ArrayList<>(KEYED_REQUEST_HEADERS.size());
+        for (String name : KEYED_REQUEST_HEADERS) {
+            List<String> headerValues = requestHeaders.get(name);
+            values.add(headerValues != null ? String.join(",", headerValues) : "");
+        }
+        return values;
+    }
+
+    /**
+     * Whether every header the response's {@code Vary} names is part of the replay key; a
+     * response varying on anything else (or on {@code *}) must not be replayed.
+     */
+    public static boolean variesOnlyOnKeyedHeaders(HttpHeaders responseHeaders) {
+        for (String name : responseHeaders.getVary()) {
+            if (!KEYED_HEADER_NAMES.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read-only copy of response headers without the per-connection and CORS ones.
+     */
+    public static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!UNSTORED_HEADERS.contains(name) && !isCorsHeader(name)) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(stored);
+    }
+
+    /**
+     * Adds stored headers to a response without replacing the ones already set on it, such
+     * as the gateway's own CORS headers; {@code Vary} values are merged.
+     */
+    public static void replayHeaders(HttpHeaders stored, HttpHeaders response) {
+        stored.forEach((name, values) -> {
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                List<String> vary = new ArrayList<>(response.getVary());
+                stored.getVary().stream()
+                        .filter(value -> vary.stream().noneMatch(value::equalsIgnoreCase))
+                        .forEach(vary::add);
+                response.setVary(vary);
+            } else if (!response.containsKey(name)) {
+                response.put(name, values);
+            }
+        });
+    }
+
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    public static String pathAndQuery(URI uri) {
+        return uri.getRawQuery() != null ? uri.getRawPath() + "?" + uri.getRawQuery() : uri.getRawPath();
+    }
+
+    private static boolean isCorsHeader(String name) {
+        return name.regionMatches(true, 0, CORS_HEADER_PREFIX, 0, CORS_HEADER_PREFIX.length());
+    }
+
+    private static String weak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    /**
+     * Copy of a response body taken while it streams past, up to a size limit. Past the limit
+     * the copy is abandoned and {@link #toByteArray()} returns null.
+     */
+    public static final class BodyCopy {
+
+        private final long limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        public BodyCopy(long limit) {
+            this.limit = limit;
+        }
+
+        public DataBuffer append(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (bytes != null && bytes.size() + length <= limit) {
+                byte[] chunk = new byte[length];
+                buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+                bytes.write(chunk, 0, length);
+            } else {
+                bytes = null;
+            }
+            return buffer;
+        }
+
+        public byte[] toByteArray() {
+            return bytes != null ? bytes.toByteArray() : null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+-- Switch transport entities from IDENTITY columns to pooled sequences so
+-- Hibernate can batch inserts. Existing ids are kept: each sequence is
+-- positioned so the first pooled block starts right after MAX(id).
+-- INCREMENT BY must match allocationSize on the entities (50).
+
+\c transportdb;
+
+CREATE SEQUENCE IF NOT EXISTS shipments_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS vehicles_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS routes_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS route_stops_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS route_logs_seq INCREMENT BY 50;
+
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['shipments', 'vehicles', 'routes', 'route_stops', 'route_logs'] LOOP
+        IF to_regclass(t) IS NOT NULL THEN
+            -- Ids now come from Hibernate; drop the identity / serial default
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+            -- The pooled optimizer treats a fetched value as the top of its block,
+            -- so MAX(id) + 50 makes the first allocated id MAX(id) + 1
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)',
+                           t || '_seq', t);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,22 @@
+-- Denormalized tracking read model: one row per shipment, keyed by tracking
+-- number, carrying the vehicle plate and the latest checkpoints as JSON.
+-- Populate existing shipments with POST /api/transport/transport/tracking/rebuild
+-- (/transport/tracking/rebuild on transport-service itself).
+
+\c transportdb;
+
+CREATE TABLE IF NOT EXISTS tracking_documents (
+    tracking_number     varchar(255) PRIMARY KEY,
+    shipment_id         bigint NOT NULL UNIQUE,
+    status              varchar(255),
+    origin_address      varchar(255),
+    destination_address varchar(255),
+    estimated_delivery  timestamp(6),
+    delivery_date       timestamp(6),
+    vehicle_id          bigint,
+    vehicle_plate       varchar(255),
+    checkpoints         jsonb,
+    updated_at          timestamp(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tracking_documents_vehicle_id ON tracking_documents (vehicle_id);
@@ -0,0 +1,19 @@
+-- Indexes backing the transport filter operators. tracking_number is
+-- already covered by its unique constraint (exact match).
+-- Address filters are case-insensitive prefix matches on lower(...),
+-- which need text_pattern_ops to be usable by LIKE 'abc%' in non-C locales.
+
+\c transportdb;
+
+CREATE INDEX IF NOT EXISTS idx_shipments_origin_prefix
+    ON shipments (lower(origin_address) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_shipments_destination_prefix
+    ON shipments (lower(destination_address) text_pattern_ops);
+
+-- Default ordering is created_at DESC, id DESC; equality filters lead.
+CREATE INDEX IF NOT EXISTS idx_shipments_created_at
+    ON shipments (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_shipments_status_created_at
+    ON shipments (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_shipments_driver_created_at
+    ON shipments (driver_id, created_at DESC, id DESC);
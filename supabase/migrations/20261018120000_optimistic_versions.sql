@@ -0,0 +1,7 @@
+-- Version columns for optimistic concurrency on shipments and vehicles.
+-- Existing rows start at 0 so versioned updates can match them.
+
+\c transportdb;
+
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE vehicles ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+-- Per-driver change log behind GET /api/transport/sync/drivers/{id}/changes.
+-- Rows are written in the same transaction as the change they describe and
+-- are read in (tx_id, id) order below the oldest running transaction.
+
+\c transportdb;
+
+CREATE SEQUENCE IF NOT EXISTS sync_changes_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS sync_changes (
+    id          bigint PRIMARY KEY,
+    tx_id       bigint NOT NULL,
+    driver_id   bigint NOT NULL,
+    entity_type varchar(255) NOT NULL,
+    entity_id   bigint NOT NULL,
+    deleted     boolean NOT NULL,
+    changed_at  timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_changes_driver_tx ON sync_changes (driver_id, tx_id, id);
+CREATE INDEX IF NOT EXISTS idx_sync_changes_changed_at ON sync_changes (changed_at);
@@ -0,0 +1,11 @@
+-- Leases on tracking number generator node ids (0-1023). An instance without an
+-- explicit tracking.node-id claims a free or expired row at startup and renews it;
+-- rows not renewed within the lease ttl may be taken over by another instance.
+
+\c transportdb;
+
+CREATE TABLE IF NOT EXISTS tracking_node_leases (
+    node_id     integer PRIMARY KEY,
+    instance_id varchar(255) NOT NULL,
+    renewed_at  timestamp(6) NOT NULL
+);
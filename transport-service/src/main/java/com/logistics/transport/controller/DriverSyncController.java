@@ -0,0 +1,30 @@
+package com.logistics.transport.controller;
+
+import com.logistics.common.dto.BaseResponse;
+import com.logistics.transport.dto.DriverSyncDto;
+import com.logistics.transport.service.sync.DriverSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Delta sync for driver devices. Call without {@code cursor} for a full snapshot, then pass
+ * back the returned cursor to receive only what changed; repeat while {@code hasMore} is set.
+ */
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DriverSyncController {
+
+    private final DriverSyncService driverSyncService;
+
+    @GetMapping("/drivers/{driverId}/changes")
+    public ResponseEntity<BaseResponse<DriverSyncDto>> getChanges(
+            @PathVariable Long driverId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit) {
+        DriverSyncDto changes = driverSyncService.getChanges(driverId, cursor, limit);
+        return ResponseEntity.ok(BaseResponse.success(changes, "Driver changes retrieved successfully"));
+    }
+}
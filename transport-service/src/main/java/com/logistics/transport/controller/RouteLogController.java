@@ -1,16 +1,20 @@
 package com.logistics.transport.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.common.web.NdjsonResponse;
 import com.logistics.transport.dto.RouteLogDto;
 import com.logistics.transport.entity.RouteLog;
 import com.logistics.transport.service.RouteLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,6 +30,7 @@ import java.util.List;
 public class RouteLogController {
 
     private final RouteLogService routeLogService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get route logs for a specific shipment.
@@ -103,6 +108,17 @@ public class RouteLogController {
         return ResponseEntity.ok(BaseResponse.success(logs, "Route logs for date range retrieved successfully"));
     }
 
+    /**
+     * Route logs for a date range as newline-delimited JSON, written while they are read.
+     */
+    @GetMapping(value = "/date-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRouteLogsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return NdjsonResponse.<RouteLogDto>of(objectMapper,
+                sink -> routeLogService.streamRouteLogsByDateRange(startDate, endDate, sink));
+    }
+
     /**
      * Log pickup for shipment.
      */
@@ -1,22 +1,39 @@
 package com.logistics.transport.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.common.dto.MultiGetResult;
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.common.web.NdjsonResponse;
+import com.logistics.common.web.SparseFields;
 import com.logistics.transport.dto.CreateShipmentRequest;
 import com.logistics.transport.dto.RouteLogDto;
 import com.logistics.transport.dto.ShipmentDto;
+import com.logistics.transport.dto.ShipmentFacetCountsDto;
+import com.logistics.transport.dto.ShipmentFacetFilterDto;
+import com.logistics.transport.dto.ShipmentStatusBatchRequest;
+import com.logistics.transport.dto.ShipmentStatusBatchResultDto;
 import com.logistics.transport.dto.UpdateShipmentRequest;
 import com.logistics.transport.entity.RouteLog;
 import com.logistics.transport.entity.Shipment;
 import com.logistics.transport.service.RouteLogService;
+import com.logistics.transport.service.ShipmentBatchService;
+import com.logistics.transport.service.ShipmentFacetService;
 import com.logistics.transport.service.ShipmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -27,25 +44,71 @@ public class ShipmentController {
 
     private final ShipmentService shipmentService;
     private final RouteLogService routeLogService;
+    private final ShipmentFacetService shipmentFacetService;
+    private final ShipmentBatchService shipmentBatchService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * How long shared caches (the gateway) may reuse a single-resource read; browsers revalidate.
+     */
+    @Value("${transport.http.shared-max-age:10s}")
+    private Duration sharedMaxAge;
+
+    /**
+     * List endpoints accept {@code ?fields=id,trackingNumber,status} to select and return only those properties.
+     */
     @GetMapping
     public ResponseEntity<BaseResponse<Page<ShipmentDto>>> getAllShipments(
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ShipmentDto> shipments = shipmentService.getAllShipments(pageable);
+        Page<ShipmentDto> shipments = shipmentService.getAllShipments(fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(shipments, "Shipments retrieved successfully"));
     }
 
+    /**
+     * Several shipments by id in one call ({@code ?ids=1,2,3}); order and not-found entries follow the request.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<BaseResponse<MultiGetResult<Long, ShipmentDto>>> getShipmentsByIds(@RequestParam List<Long> ids) {
+        MultiGetResult<Long, ShipmentDto> result = shipmentService.getShipmentsByIds(ids);
+        return ResponseEntity.ok(BaseResponse.success(result, "Shipments retrieved successfully"));
+    }
+
+    /**
+     * Same as {@code GET /batch} with the ids as a JSON array body, for lists too long for a URL.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BaseResponse<MultiGetResult<Long, ShipmentDto>>> getShipmentsByIdsFromBody(@RequestBody List<Long> ids) {
+        MultiGetResult<Long, ShipmentDto> result = shipmentService.getShipmentsByIds(ids);
+        return ResponseEntity.ok(BaseResponse.success(result, "Shipments retrieved successfully"));
+    }
+
+    /**
+     * Single-shipment reads carry a weak ETag and Last-Modified and answer 304 to a matching
+     * If-None-Match or If-Modified-Since without loading the shipment.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<BaseResponse<ShipmentDto>> getShipmentById(@PathVariable Long id) {
-        ShipmentDto shipment = shipmentService.getShipmentById(id);
-        return ResponseEntity.ok(BaseResponse.success(shipment, "Shipment retrieved successfully"));
+    public ResponseEntity<BaseResponse<ShipmentDto>> getShipmentById(@PathVariable Long id, HttpServletRequest request) {
+        EntityFreshness freshness = shipmentService.getShipmentFreshness(id);
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified(readCacheControl());
+        }
+        ShipmentDto shipment = shipmentService.getCurrentShipment(freshness);
+        return EntityFreshness.of(shipment.getId(), shipment.getUpdatedAt())
+                .ok(BaseResponse.success(shipment, "Shipment retrieved successfully"), readCacheControl());
     }
 
     @GetMapping("/tracking/{trackingNumber}")
     public ResponseEntity<BaseResponse<ShipmentDto>> getShipmentByTrackingNumber(
-            @PathVariable String trackingNumber) {
-        ShipmentDto shipment = shipmentService.getShipmentByTrackingNumber(trackingNumber);
-        return ResponseEntity.ok(BaseResponse.success(shipment, "Shipment retrieved successfully"));
+            @PathVariable String trackingNumber,
+            HttpServletRequest request) {
+        EntityFreshness freshness = shipmentService.getShipmentFreshnessByTrackingNumber(trackingNumber);
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified(readCacheControl());
+        }
+        ShipmentDto shipment = shipmentService.getCurrentShipment(freshness);
+        return EntityFreshness.of(shipment.getId(), shipment.getUpdatedAt())
+                .ok(BaseResponse.success(shipment, "Shipment retrieved successfully"), readCacheControl());
     }
 
     @PostMapping
@@ -72,24 +135,27 @@ public class ShipmentController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<BaseResponse<Page<ShipmentDto>>> getShipmentsByUser(
             @PathVariable Long userId,
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ShipmentDto> shipments = shipmentService.getShipmentsByUser(userId, pageable);
+        Page<ShipmentDto> shipments = shipmentService.getShipmentsByUser(userId, fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(shipments, "User shipments retrieved successfully"));
     }
 
     @GetMapping("/status/{status}")
     public ResponseEntity<BaseResponse<Page<ShipmentDto>>> getShipmentsByStatus(
             @PathVariable Shipment.ShipmentStatus status,
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ShipmentDto> shipments = shipmentService.getShipmentsByStatus(status, pageable);
+        Page<ShipmentDto> shipments = shipmentService.getShipmentsByStatus(status, fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(shipments, "Shipments retrieved successfully"));
     }
 
     @GetMapping("/search")
     public ResponseEntity<BaseResponse<Page<ShipmentDto>>> searchShipments(
             @RequestParam String q,
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ShipmentDto> shipments = shipmentService.searchShipments(q, pageable);
+        Page<ShipmentDto> shipments = shipmentService.searchShipments(q, fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(shipments, "Search completed successfully"));
     }
 
@@ -101,6 +167,16 @@ public class ShipmentController {
         return ResponseEntity.ok(BaseResponse.success(shipment, "Shipment status updated successfully"));
     }
 
+    /**
+     * Move many shipments, by id and/or tracking number, to one status in a single transaction.
+     */
+    @PatchMapping("/status:batch")
+    public ResponseEntity<BaseResponse<ShipmentStatusBatchResultDto>> updateShipmentStatuses(
+            @Valid @RequestBody ShipmentStatusBatchRequest request) {
+        ShipmentStatusBatchResultDto result = shipmentBatchService.updateStatuses(request);
+        return ResponseEntity.ok(BaseResponse.success(result, "Shipment statuses updated successfully"));
+    }
+
     @PatchMapping("/{id}/assign-vehicle")
     public ResponseEntity<BaseResponse<ShipmentDto>> assignVehicle(
             @PathVariable Long id,
@@ -115,6 +191,23 @@ public class ShipmentController {
         return ResponseEntity.ok(BaseResponse.success(overdueShipments, "Overdue shipments retrieved successfully"));
     }
 
+    /**
+     * Overdue shipments as newline-delimited JSON, written while they are read.
+     */
+    @GetMapping(value = "/overdue", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOverdueShipments() {
+        return NdjsonResponse.of(objectMapper, shipmentService::streamOverdueShipments);
+    }
+
+    /**
+     * Badge counts for the shipment console, optionally narrowed by the given filter.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<BaseResponse<ShipmentFacetCountsDto>> getFacetCounts(ShipmentFacetFilterDto filter) {
+        ShipmentFacetCountsDto counts = shipmentFacetService.getFacetCounts(filter);
+        return ResponseEntity.ok(BaseResponse.success(counts, "Shipment facet counts retrieved successfully"));
+    }
+
     /**
      * Add route log to shipment.
      * This endpoint allows adding custom route logs to a specific shipment.
@@ -162,4 +255,8 @@ public class ShipmentController {
         private java.math.BigDecimal latitude;
         private java.math.BigDecimal longitude;
     }
-}
\ No newline at end of file
+
+    private CacheControl readCacheControl() {
+        return CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge);
+    }
+}
@@ -0,0 +1,43 @@
+package com.logistics.transport.controller;
+
+import com.logistics.common.dto.BaseResponse;
+import com.logistics.transport.dto.ShipmentImportStatusDto;
+import com.logistics.transport.service.ShipmentImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Controller for bulk shipment import from XLSX or CSV files.
+ */
+@RestController
+@RequestMapping("/shipments/import")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ShipmentImportController {
+
+    private final ShipmentImportService shipmentImportService;
+
+    /**
+     * Upload a file and start importing it in the background.
+     * The first row must contain column headers such as senderId, receiverId,
+     * originAddress and destinationAddress.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BaseResponse<ShipmentImportStatusDto>> startImport(
+            @RequestParam("file") MultipartFile file) {
+        ShipmentImportStatusDto status = shipmentImportService.startImport(file);
+        return ResponseEntity.accepted().body(BaseResponse.success(status, "Shipment import started"));
+    }
+
+    /**
+     * Get progress and row errors of an import job.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BaseResponse<ShipmentImportStatusDto>> getImportStatus(@PathVariable String jobId) {
+        ShipmentImportStatusDto status = shipmentImportService.getImportStatus(jobId);
+        return ResponseEntity.ok(BaseResponse.success(status, "Import status retrieved successfully"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.logistics.transport.controller;
+
+import com.logistics.common.dto.BaseResponse;
+import com.logistics.transport.dto.TrackingDocumentDto;
+import com.logistics.transport.service.TrackingProjectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the denormalized tracking read model.
+ */
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class TrackingController {
+
+    private final TrackingProjectionService trackingProjectionService;
+
+    /**
+     * Public tracking page data: status, ETA, vehicle plate and latest checkpoints.
+     */
+    @GetMapping("/shipments/tracking/{trackingNumber}/summary")
+    public ResponseEntity<BaseResponse<TrackingDocumentDto>> getTracking(@PathVariable String trackingNumber) {
+        TrackingDocumentDto tracking = trackingProjectionService.getTracking(trackingNumber);
+        return ResponseEntity.ok(BaseResponse.success(tracking, "Tracking information retrieved successfully"));
+    }
+
+    /**
+     * Rebuild all tracking documents from the source tables.
+     */
+    @PostMapping("/transport/tracking/rebuild")
+    public ResponseEntity<BaseResponse<Long>> rebuild() {
+        long rebuilt = trackingProjectionService.rebuild();
+        return ResponseEntity.ok(BaseResponse.success(rebuilt, "Tracking documents rebuilt successfully"));
+    }
+}
@@ -1,18 +1,20 @@
 package com.logistics.transport.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.common.web.NdjsonResponse;
 import com.logistics.transport.dto.ShipmentDto;
 import com.logistics.transport.dto.TransportFilterRequestDto;
 import com.logistics.transport.service.TransportFilterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for transport filtering and search operations.
@@ -24,17 +26,30 @@ import java.util.List;
 public class TransportFilterController {
 
     private final TransportFilterService transportFilterService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Filter transports based on multiple criteria.
+     * Filter transports based on multiple criteria, with pagination.
      */
     @PostMapping
-    public ResponseEntity<BaseResponse<List<ShipmentDto>>> filterTransports(
-            @Valid @RequestBody TransportFilterRequestDto filter) {
-        List<ShipmentDto> shipments = transportFilterService.filterTransports(filter);
+    public ResponseEntity<BaseResponse<Page<ShipmentDto>>> filterTransports(
+            @Valid @RequestBody TransportFilterRequestDto filter,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<ShipmentDto> shipments = transportFilterService.filterTransports(filter, pageable);
         return ResponseEntity.ok(BaseResponse.success(shipments, "Transport filter completed successfully"));
     }
 
+    /**
+     * Filter transports, streaming matches as newline-delimited JSON.
+     * Selected with {@code Accept: application/x-ndjson}; memory use does not depend on the result size.
+     */
+    @PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFilterTransports(
+            @Valid @RequestBody TransportFilterRequestDto filter) {
+        return NdjsonResponse.<ShipmentDto>of(objectMapper,
+                sink -> transportFilterService.streamFilterTransports(filter, sink));
+    }
+
     /**
      * Advanced search with pagination.
      */
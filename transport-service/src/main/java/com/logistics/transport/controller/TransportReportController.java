@@ -1,6 +1,7 @@
 package com.logistics.transport.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.transport.dto.StatusCountsDto;
 import com.logistics.transport.dto.TransportReportDto;
 import com.logistics.transport.service.TransportReportService;
 import lombok.RequiredArgsConstructor;
@@ -71,4 +72,13 @@ public class TransportReportController {
         TransportReportDto report = transportReportService.generateDailySummary(LocalDateTime.now());
         return ResponseEntity.ok(BaseResponse.success(report, "Today's report generated successfully"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Live shipment and vehicle counts per status, cheap enough for frequent polling.
+     */
+    @GetMapping("/status-counts")
+    public ResponseEntity<BaseResponse<StatusCountsDto>> getStatusCounts() {
+        StatusCountsDto counts = transportReportService.getStatusCounts();
+        return ResponseEntity.ok(BaseResponse.success(counts, "Status counts retrieved successfully"));
+    }
+}
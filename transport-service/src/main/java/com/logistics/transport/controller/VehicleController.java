@@ -1,18 +1,24 @@
 package com.logistics.transport.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.common.dto.MultiGetResult;
+import com.logistics.common.web.EntityFreshness;
 import com.logistics.transport.dto.CreateVehicleRequest;
 import com.logistics.transport.dto.VehicleDto;
 import com.logistics.transport.entity.Vehicle;
 import com.logistics.transport.service.VehicleService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -23,6 +29,12 @@ public class VehicleController {
 
     private final VehicleService vehicleService;
 
+    /**
+     * How long shared caches (the gateway) may reuse a single-resource read; browsers revalidate.
+     */
+    @Value("${transport.http.shared-max-age:10s}")
+    private Duration sharedMaxAge;
+
     @GetMapping
     public ResponseEntity<BaseResponse<Page<VehicleDto>>> getAllVehicles(
             @PageableDefault(size = 20) Pageable pageable) {
@@ -30,17 +42,49 @@ public class VehicleController {
         return ResponseEntity.ok(BaseResponse.success(vehicles, "Vehicles retrieved successfully"));
     }
 
+    /**
+     * Several vehicles by id in one call ({@code ?ids=1,2,3}); order and not-found entries follow the request.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<BaseResponse<MultiGetResult<Long, VehicleDto>>> getVehiclesByIds(@RequestParam List<Long> ids) {
+        MultiGetResult<Long, VehicleDto> result = vehicleService.getVehiclesByIds(ids);
+        return ResponseEntity.ok(BaseResponse.success(result, "Vehicles retrieved successfully"));
+    }
+
+    /**
+     * Same as {@code GET /batch} with the ids as a JSON array body, for lists too long for a URL.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BaseResponse<MultiGetResult<Long, VehicleDto>>> getVehiclesByIdsFromBody(@RequestBody List<Long> ids) {
+        MultiGetResult<Long, VehicleDto> result = vehicleService.getVehiclesByIds(ids);
+        return ResponseEntity.ok(BaseResponse.success(result, "Vehicles retrieved successfully"));
+    }
+
+    /**
+     * Single-vehicle reads support conditional GET (ETag / If-Modified-Since).
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<BaseResponse<VehicleDto>> getVehicleById(@PathVariable Long id) {
+    public ResponseEntity<BaseResponse<VehicleDto>> getVehicleById(@PathVariable Long id, HttpServletRequest request) {
+        EntityFreshness freshness = vehicleService.getVehicleFreshness(id);
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified(readCacheControl());
+        }
         VehicleDto vehicle = vehicleService.getVehicleById(id);
-        return ResponseEntity.ok(BaseResponse.success(vehicle, "Vehicle retrieved successfully"));
+        return EntityFreshness.of(vehicle.getId(), vehicle.getUpdatedAt())
+                .ok(BaseResponse.success(vehicle, "Vehicle retrieved successfully"), readCacheControl());
     }
 
     @GetMapping("/license/{licensePlate}")
     public ResponseEntity<BaseResponse<VehicleDto>> getVehicleByLicensePlate(
-            @PathVariable String licensePlate) {
+            @PathVariable String licensePlate,
+            HttpServletRequest request) {
+        EntityFreshness freshness = vehicleService.getVehicleFreshnessByLicensePlate(licensePlate);
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified(readCacheControl());
+        }
         VehicleDto vehicle = vehicleService.getVehicleByLicensePlate(licensePlate);
-        return ResponseEntity.ok(BaseResponse.success(vehicle, "Vehicle retrieved successfully"));
+        return EntityFreshness.of(vehicle.getId(), vehicle.getUpdatedAt())
+                .ok(BaseResponse.success(vehicle, "Vehicle retrieved successfully"), readCacheControl());
     }
 
     @PostMapping
@@ -101,4 +145,8 @@ public class VehicleController {
         VehicleDto vehicle = vehicleService.assignDriver(id, driverId);
         return ResponseEntity.ok(BaseResponse.success(vehicle, "Driver assigned successfully"));
     }
-}
\ No newline at end of file
+
+    private CacheControl readCacheControl() {
+        return CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge);
+    }
+}
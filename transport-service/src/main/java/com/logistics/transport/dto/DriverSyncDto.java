@@ -0,0 +1,31 @@
+package com.logistics.transport.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.logistics.transport.entity.SyncChange;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One delta-sync page for a driver device. With {@code reset} set the lists are a full
+ * snapshot that replaces local state; otherwise they are upserts since the previous cursor
+ * and {@code deleted} lists the ids to drop. Empty collections are left out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class DriverSyncDto {
+    
+    private String cursor;
+    private boolean hasMore;
+    private boolean reset;
+    private List<ShipmentDto> shipments;
+    private List<VehicleDto> vehicles;
+    private List<RouteDto> routes;
+    private List<RouteStopDto> stops;
+    private Map<SyncChange.EntityType, List<Long>> deleted;
+}
@@ -0,0 +1,32 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Route;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for planned vehicle routes; stops are resolved separately.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteDto {
+    
+    private Long id;
+    private String routeName;
+    private String startLocation;
+    private String endLocation;
+    private BigDecimal distanceKm;
+    private BigDecimal estimatedDurationHours;
+    private Route.RouteStatus status;
+    private Long vehicleId;
+    private Long driverId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.RouteStop;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a pickup, delivery or waypoint stop on a route.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteStopDto {
+    
+    private Long id;
+    private Long routeId;
+    private Long shipmentId;
+    private String address;
+    private Integer stopOrder;
+    private RouteStop.StopType stopType;
+    private RouteStop.StopStatus status;
+    private LocalDateTime plannedArrival;
+    private LocalDateTime actualArrival;
+    private LocalDateTime plannedDeparture;
+    private LocalDateTime actualDeparture;
+    private String notes;
+}
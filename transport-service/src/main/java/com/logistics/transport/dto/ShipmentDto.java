@@ -1,5 +1,7 @@
 package com.logistics.transport.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.logistics.common.web.SparseFields;
 import com.logistics.transport.entity.Shipment;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFields.FILTER_ID)
 public class ShipmentDto {
     
     private Long id;
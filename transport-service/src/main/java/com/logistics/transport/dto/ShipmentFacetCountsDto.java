@@ -0,0 +1,25 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.Vehicle;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Dashboard badge counts: shipments matching the filter broken down by status,
+ * priority and overdue, plus the fleet by vehicle status. Every enum value is present.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentFacetCountsDto {
+    
+    private long total;
+    private Map<Shipment.ShipmentStatus, Long> byStatus;
+    private Map<Shipment.Priority, Long> byPriority;
+    private long overdue;
+    private Map<Vehicle.VehicleStatus, Long> vehiclesByStatus;
+}
@@ -0,0 +1,31 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Shipment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional filter for shipment facet counts. Values within a field are OR-ed,
+ * fields are AND-ed; the creation range is inclusive on both days.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentFacetFilterDto {
+    
+    private List<Shipment.ShipmentStatus> status;
+    private List<Shipment.Priority> priority;
+    private Long driverId;
+    private Long vehicleId;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+}
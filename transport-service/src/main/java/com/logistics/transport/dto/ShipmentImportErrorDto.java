@@ -0,0 +1,17 @@
+package com.logistics.transport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing a single rejected row of a bulk shipment import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentImportErrorDto {
+    
+    private long rowNumber;
+    private String message;
+}
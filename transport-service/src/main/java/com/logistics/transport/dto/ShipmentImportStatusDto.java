@@ -0,0 +1,33 @@
+package com.logistics.transport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for bulk shipment import progress and results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentImportStatusDto {
+    
+    private String jobId;
+    private String fileName;
+    private ImportStatus status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ShipmentImportErrorDto> errors;
+    private boolean errorsTruncated;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public enum ImportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
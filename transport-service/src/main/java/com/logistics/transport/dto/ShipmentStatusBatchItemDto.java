@@ -0,0 +1,25 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Shipment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk status change for one requested shipment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentStatusBatchItemDto {
+    
+    private Long id;
+    private String trackingNumber;
+    private Outcome outcome;
+    private Shipment.ShipmentStatus previousStatus;
+    private String message;
+
+    public enum Outcome {
+        UPDATED, UNCHANGED, NOT_FOUND, INVALID_TRANSITION
+    }
+}
@@ -0,0 +1,34 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Shipment;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request to move many shipments to one status, identified by id and/or tracking number.
+ * The location and optional description are recorded on the route log written for each shipment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentStatusBatchRequest {
+    
+    private List<Long> ids;
+    private List<String> trackingNumbers;
+    
+    @NotNull
+    private Shipment.ShipmentStatus status;
+    
+    @NotBlank
+    private String location;
+    
+    private String description;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+}
@@ -0,0 +1,24 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Shipment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk status change results, one item per requested id or tracking number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentStatusBatchResultDto {
+    
+    private Shipment.ShipmentStatus status;
+    private int requested;
+    private int updated;
+    private int unchanged;
+    private int failed;
+    private List<ShipmentStatusBatchItemDto> results;
+}
@@ -0,0 +1,25 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.Vehicle;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Live shipment and vehicle counts per status, served from in-memory counters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusCountsDto {
+    
+    private Map<Shipment.ShipmentStatus, Long> shipments;
+    private long totalShipments;
+    private Map<Vehicle.VehicleStatus, Long> vehicles;
+    private long totalVehicles;
+    private LocalDateTime lastReconciledAt;
+}
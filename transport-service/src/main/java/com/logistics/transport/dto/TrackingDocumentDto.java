@@ -0,0 +1,39 @@
+package com.logistics.transport.dto;
+
+import com.logistics.transport.entity.RouteLog;
+import com.logistics.transport.entity.Shipment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the public tracking page: status, ETA, vehicle and latest checkpoints.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingDocumentDto {
+    
+    private String trackingNumber;
+    private Shipment.ShipmentStatus status;
+    private String originAddress;
+    private String destinationAddress;
+    private LocalDateTime estimatedDelivery;
+    private LocalDateTime deliveryDate;
+    private String vehiclePlate;
+    private List<CheckpointDto> checkpoints;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckpointDto {
+        private String location;
+        private RouteLog.LogType logType;
+        private String description;
+        private LocalDateTime timestamp;
+    }
+}
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class RouteLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "route_logs_seq")
+    @SequenceGenerator(name = "route_logs_seq", sequenceName = "route_logs_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class RouteStop {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "route_stops_seq")
+    @SequenceGenerator(name = "route_stops_seq", sequenceName = "route_stops_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Shipment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipments_seq")
+    @SequenceGenerator(name = "shipments_seq", sequenceName = "shipments_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -79,6 +80,10 @@ public class Shipment {
     @Column(name = "notes", length = 1000)
     private String notes;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -89,9 +94,6 @@ public class Shipment {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (trackingNumber == null) {
-            trackingNumber = generateTrackingNumber();
-        }
     }
 
     @PreUpdate
@@ -99,12 +101,23 @@ public class Shipment {
         updatedAt = LocalDateTime.now();
     }
 
-    private String generateTrackingNumber() {
-        return "TRK" + System.currentTimeMillis() + String.format("%04d", (int)(Math.random() * 10000));
-    }
-
     public enum ShipmentStatus {
-        PENDING, PICKED_UP, IN_TRANSIT, OUT_FOR_DELIVERY, DELIVERED, CANCELLED, RETURNED
+        PENDING, PICKED_UP, IN_TRANSIT, OUT_FOR_DELIVERY, DELIVERED, CANCELLED, RETURNED;
+
+        /**
+         * Whether the regular shipment flow allows moving from this status to {@code target}.
+         */
+        public boolean canTransitionTo(ShipmentStatus target) {
+            return switch (this) {
+                case PENDING -> target == PICKED_UP || target == IN_TRANSIT || target == CANCELLED;
+                case PICKED_UP -> target == IN_TRANSIT || target == OUT_FOR_DELIVERY || target == DELIVERED
+                        || target == RETURNED || target == CANCELLED;
+                case IN_TRANSIT -> target == OUT_FOR_DELIVERY || target == DELIVERED || target == RETURNED;
+                case OUT_FOR_DELIVERY -> target == IN_TRANSIT || target == DELIVERED || target == RETURNED;
+                case DELIVERED -> target == RETURNED;
+                case CANCELLED, RETURNED -> false;
+            };
+        }
     }
 
     public enum Priority {
@@ -0,0 +1,52 @@
+package com.logistics.transport.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the per-driver change log behind delta sync: an entity was inserted or
+ * updated for the driver, or removed from the driver's view (deleted or reassigned).
+ * Entries are ordered by the writing PostgreSQL transaction id, then by id.
+ */
+@Entity
+@Table(name = "sync_changes", indexes = {
+        @Index(name = "idx_sync_changes_driver_tx", columnList = "driver_id, tx_id, id"),
+        @Index(name = "idx_sync_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_changes_seq")
+    @SequenceGenerator(name = "sync_changes_seq", sequenceName = "sync_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "tx_id", nullable = false)
+    private Long txId;
+
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public enum EntityType {
+        SHIPMENT, VEHICLE, ROUTE, ROUTE_STOP
+    }
+}
@@ -0,0 +1,80 @@
+package com.logistics.transport.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denormalized read model behind the public tracking page.
+ * One row per tracking number, maintained incrementally from shipment and route log
+ * writes and rebuildable from the source tables, so a tracking page is served by a
+ * single primary key lookup instead of shipment, route log and vehicle joins.
+ */
+@Entity
+@Table(name = "tracking_documents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingDocument {
+
+    @Id
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+
+    @Column(name = "shipment_id", nullable = false, unique = true)
+    private Long shipmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Shipment.ShipmentStatus status;
+
+    @Column(name = "origin_address")
+    private String originAddress;
+
+    @Column(name = "destination_address")
+    private String destinationAddress;
+
+    @Column(name = "estimated_delivery")
+    private LocalDateTime estimatedDelivery;
+
+    @Column(name = "delivery_date")
+    private LocalDateTime deliveryDate;
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "vehicle_plate")
+    private String vehiclePlate;
+
+    /** Latest route log entries, newest first. */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "checkpoints")
+    private List<Checkpoint> checkpoints = new ArrayList<>();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Checkpoint {
+        private Long routeLogId;
+        private String location;
+        private RouteLog.LogType logType;
+        private String description;
+        private LocalDateTime timestamp;
+    }
+}
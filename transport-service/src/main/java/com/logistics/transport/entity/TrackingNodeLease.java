@@ -0,0 +1,30 @@
+package com.logistics.transport.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one tracking number generator node id. A running instance owns the node id while
+ * it keeps renewing the lease; an expired lease can be claimed by another instance.
+ */
+@Entity
+@Table(name = "tracking_node_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingNodeLease {
+
+    @Id
+    @Column(name = "node_id")
+    private Integer nodeId;
+
+    @Column(name = "instance_id", nullable = false)
+    private String instanceId;
+
+    @Column(name = "renewed_at", nullable = false)
+    private LocalDateTime renewedAt;
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Vehicle {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicles_seq")
+    @SequenceGenerator(name = "vehicles_seq", sequenceName = "vehicles_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -68,6 +69,10 @@ public class Vehicle {
     @Column(name = "insurance_expiry")
     private LocalDateTime insuranceExpiry;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,38 @@
+package com.logistics.transport.graphql;
+
+import com.logistics.common.exception.BusinessException;
+import com.logistics.common.exception.ConflictException;
+import com.logistics.common.exception.ResourceNotFoundException;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps the platform exceptions onto GraphQL error types, mirroring the HTTP statuses the
+ * REST handlers use. Anything else falls through to the default INTERNAL_ERROR handling.
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        ErrorType type;
+        if (ex instanceof ResourceNotFoundException) {
+            type = ErrorType.NOT_FOUND;
+        } else if (ex instanceof BusinessException || ex instanceof ConflictException) {
+            type = ErrorType.BAD_REQUEST;
+        } else if (ex instanceof AccessDeniedException) {
+            type = ErrorType.FORBIDDEN;
+        } else {
+            return null;
+        }
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(type)
+                .message(ex.getMessage())
+                .build();
+    }
+}
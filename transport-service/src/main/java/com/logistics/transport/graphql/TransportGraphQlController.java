@@ -0,0 +1,183 @@
+package com.logistics.transport.graphql;
+
+import com.logistics.common.exception.BusinessException;
+import com.logistics.common.web.SparseFields;
+import com.logistics.transport.dto.RouteDto;
+import com.logistics.transport.dto.RouteLogDto;
+import com.logistics.transport.dto.RouteStopDto;
+import com.logistics.transport.dto.ShipmentDto;
+import com.logistics.transport.dto.VehicleDto;
+import com.logistics.transport.entity.Route;
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.service.RouteLogService;
+import com.logistics.transport.service.RouteService;
+import com.logistics.transport.service.ShipmentService;
+import com.logistics.transport.service.VehicleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL entry points for the transport graph. Every nested field is a {@link BatchMapping},
+ * so the per-request DataLoader collects the parents of one level and resolves them with a
+ * single IN query; repeated keys within a request are served from the loader's cache.
+ */
+@Controller
+@RequiredArgsConstructor
+public class TransportGraphQlController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ShipmentService shipmentService;
+    private final VehicleService vehicleService;
+    private final RouteService routeService;
+    private final RouteLogService routeLogService;
+
+    @QueryMapping
+    public ShipmentDto shipment(@Argument Long id) {
+        return shipmentService.getShipmentById(id);
+    }
+
+    @QueryMapping
+    public ShipmentDto shipmentByTrackingNumber(@Argument String trackingNumber) {
+        return shipmentService.getShipmentByTrackingNumber(trackingNumber);
+    }
+
+    @QueryMapping
+    public List<ShipmentDto> shipments(@Argument List<Long> ids) {
+        return shipmentService.getShipmentsByIds(ids).getItems();
+    }
+
+    @QueryMapping
+    public List<ShipmentDto> shipmentsByStatus(@Argument Shipment.ShipmentStatus status,
+                                               @Argument int page, @Argument int size) {
+        return shipmentService.getShipmentsByStatus(status, SparseFields.all(), pageOf(page, size)).getContent();
+    }
+
+    @QueryMapping
+    public VehicleDto vehicle(@Argument Long id) {
+        return vehicleService.getVehicleById(id);
+    }
+
+    @QueryMapping
+    public List<VehicleDto> vehicles(@Argument List<Long> ids) {
+        return vehicleService.getVehiclesByIds(ids).getItems();
+    }
+
+    @QueryMapping
+    public RouteDto route(@Argument Long id) {
+        return routeService.getRouteById(id);
+    }
+
+    @QueryMapping
+    public List<RouteDto> routes(@Argument Route.RouteStatus status, @Argument int page, @Argument int size) {
+        return routeService.getRoutes(status, pageOf(page, size)).getContent();
+    }
+
+    @BatchMapping(typeName = "Shipment", field = "vehicle")
+    public Map<ShipmentDto, VehicleDto> shipmentVehicle(List<ShipmentDto> shipments) {
+        return one(shipments, ShipmentDto::getVehicleId, vehicleService::findVehiclesByIds);
+    }
+
+    @BatchMapping(typeName = "Shipment", field = "routeLogs")
+    public Map<ShipmentDto, List<RouteLogDto>> shipmentRouteLogs(List<ShipmentDto> shipments) {
+        return many(shipments, ShipmentDto::getId, routeLogService::getRouteLogsByShipmentIds);
+    }
+
+    @BatchMapping(typeName = "Shipment", field = "stops")
+    public Map<ShipmentDto, List<RouteStopDto>> shipmentStops(List<ShipmentDto> shipments) {
+        return many(shipments, ShipmentDto::getId, routeService::getStopsByShipmentIds);
+    }
+
+    @BatchMapping(typeName = "Vehicle", field = "openRoutes")
+    public Map<VehicleDto, List<RouteDto>> vehicleOpenRoutes(List<VehicleDto> vehicles) {
+        return many(vehicles, VehicleDto::getId, routeService::getOpenRoutesByVehicleIds);
+    }
+
+    @BatchMapping(typeName = "Route", field = "vehicle")
+    public Map<RouteDto, VehicleDto> routeVehicle(List<RouteDto> routes) {
+        return one(routes, RouteDto::getVehicleId, vehicleService::findVehiclesByIds);
+    }
+
+    @BatchMapping(typeName = "Route", field = "stops")
+    public Map<RouteDto, List<RouteStopDto>> routeStops(List<RouteDto> routes) {
+        return many(routes, RouteDto::getId, routeService::getStopsByRouteIds);
+    }
+
+    @BatchMapping(typeName = "RouteStop", field = "route")
+    public Map<RouteStopDto, RouteDto> stopRoute(List<RouteStopDto> stops) {
+        return one(stops, RouteStopDto::getRouteId, routeService::findRoutesByIds);
+    }
+
+    @BatchMapping(typeName = "RouteStop", field = "shipment")
+    public Map<RouteStopDto, ShipmentDto> stopShipment(List<RouteStopDto> stops) {
+        return one(stops, RouteStopDto::getShipmentId, shipmentService::findShipmentsByIds);
+    }
+
+    @BatchMapping(typeName = "RouteLog", field = "shipment")
+    public Map<RouteLogDto, ShipmentDto> routeLogShipment(List<RouteLogDto> logs) {
+        return one(logs, RouteLogDto::getShipmentId, shipmentService::findShipmentsByIds);
+    }
+
+    @BatchMapping(typeName = "RouteLog", field = "vehicle")
+    public Map<RouteLogDto, VehicleDto> routeLogVehicle(List<RouteLogDto> logs) {
+        return one(logs, RouteLogDto::getVehicleId, vehicleService::findVehiclesByIds);
+    }
+
+    private static Pageable pageOf(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BusinessException("page must be >= 0 and size must be >= 1");
+        }
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Resolves a to-one reference for every parent with one lookup over the distinct keys.
+     * Parents without a key or whose target is gone are left out and resolve to null.
+     */
+    private static <P, V> Map<P, V> one(List<P> parents, Function<P, Long> key,
+                                        Function<Collection<Long>, Map<Long, V>> loader) {
+        Map<Long, V> found = load(parents, key, loader);
+        Map<P, V> result = new HashMap<>();
+        for (P parent : parents) {
+            V value = found.get(key.apply(parent));
+            if (value != null) {
+                result.put(parent, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a to-many reference for every parent with one lookup over the distinct keys;
+     * parents without matches get an empty list rather than null.
+     */
+    private static <P, V> Map<P, List<V>> many(List<P> parents, Function<P, Long> key,
+                                               Function<Collection<Long>, Map<Long, List<V>>> loader) {
+        Map<Long, List<V>> found = load(parents, key, loader);
+        Map<P, List<V>> result = new HashMap<>();
+        for (P parent : parents) {
+            result.put(parent, found.getOrDefault(key.apply(parent), List.of()));
+        }
+        return result;
+    }
+
+    private static <P, R> Map<Long, R> load(List<P> parents, Function<P, Long> key,
+                                            Function<Collection<Long>, Map<Long, R>> loader) {
+        Set<Long> ids = parents.stream().map(key).filter(Objects::nonNull).collect(Collectors.toSet());
+        return ids.isEmpty() ? Map.of() : loader.apply(ids);
+    }
+}
@@ -1,21 +1,30 @@
 package com.logistics.transport.repository;
 
 import com.logistics.transport.entity.RouteLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RouteLogRepository extends JpaRepository<RouteLog, Long> {
     
     List<RouteLog> findByShipmentIdOrderByTimestampDesc(Long shipmentId);
     
+    List<RouteLog> findByShipmentIdOrderByTimestampDesc(Long shipmentId, Pageable pageable);
+    
+    List<RouteLog> findByShipmentIdInOrderByTimestampDesc(Collection<Long> shipmentIds);
+    
     Page<RouteLog> findByShipmentId(Long shipmentId, Pageable pageable);
     
     Page<RouteLog> findByVehicleId(Long vehicleId, Pageable pageable);
@@ -28,6 +37,21 @@ public interface RouteLogRepository extends JpaRepository<RouteLog, Long> {
     List<RouteLog> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                   @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Route logs in a date range with their shipment's tracking number and vehicle plate,
+     * as {@code [RouteLog, String trackingNumber, String licensePlate]} rows.
+     */
+    @Query("SELECT rl, s.trackingNumber, v.licensePlate FROM RouteLog rl " +
+           "LEFT JOIN Shipment s ON s.id = rl.shipmentId " +
+           "LEFT JOIN Vehicle v ON v.id = rl.vehicleId " +
+           "WHERE rl.timestamp BETWEEN :startDate AND :endDate ORDER BY rl.timestamp DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamByDateRangeWithReferences(@Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT rl FROM RouteLog rl WHERE rl.shipmentId = :shipmentId AND rl.logType = :logType ORDER BY rl.timestamp DESC")
     List<RouteLog> findByShipmentIdAndLogType(@Param("shipmentId") Long shipmentId, 
                                              @Param("logType") RouteLog.LogType logType);
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,4 +33,11 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     
     @Query("SELECT r FROM Route r WHERE r.status = 'ACTIVE' AND r.vehicleId = :vehicleId")
     List<Route> findActiveRoutesByVehicle(@Param("vehicleId") Long vehicleId);
+    
+    List<Route> findByDriverIdAndStatusInOrderByStartTimeAsc(Long driverId, Collection<Route.RouteStatus> statuses);
+    
+    List<Route> findByDriverIdAndIdIn(Long driverId, Collection<Long> ids);
+    
+    List<Route> findByVehicleIdInAndStatusInOrderByStartTimeAsc(Collection<Long> vehicleIds,
+                                                               Collection<Route.RouteStatus> statuses);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.logistics.transport.repository;
+
+import com.logistics.transport.entity.Route;
+import com.logistics.transport.entity.RouteStop;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RouteStopRepository extends JpaRepository<RouteStop, Long> {
+    
+    List<RouteStop> findByRouteIdInOrderByRouteIdAscStopOrderAsc(Collection<Long> routeIds);
+    
+    List<RouteStop> findByShipmentIdInOrderByPlannedArrivalAsc(Collection<Long> shipmentIds);
+    
+    @Query("SELECT rs FROM RouteStop rs, Route r WHERE r.id = rs.routeId AND r.driverId = :driverId " +
+           "AND r.status IN :statuses ORDER BY rs.routeId, rs.stopOrder")
+    List<RouteStop> findByDriverIdAndRouteStatusIn(@Param("driverId") Long driverId,
+                                                   @Param("statuses") Collection<Route.RouteStatus> statuses);
+    
+    @Query("SELECT rs FROM RouteStop rs, Route r WHERE r.id = rs.routeId AND r.driverId = :driverId AND rs.id IN :ids")
+    List<RouteStop> findByDriverIdAndIdIn(@Param("driverId") Long driverId, @Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,111 @@
+package com.logistics.transport.repository;
+
+import com.logistics.common.jpa.SparseProjection;
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.transport.dto.ShipmentDto;
+import com.logistics.transport.entity.Shipment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-side shipment queries that select straight into {@link ShipmentDto}.
+ * No managed entities are created, so there is nothing to snapshot or dirty-check.
+ */
+@RepositoryDefinition(domainClass = Shipment.class, idClass = Long.class)
+public interface ShipmentReadRepository {
+
+    String SELECT_DTO = "SELECT new com.logistics.transport.dto.ShipmentDto(" +
+            "s.id, s.trackingNumber, s.senderId, s.receiverId, s.originAddress, s.destinationAddress, " +
+            "s.weightKg, s.volumeM3, s.declaredValue, s.status, s.priority, s.vehicleId, s.driverId, " +
+            "s.pickupDate, s.deliveryDate, s.estimatedDelivery, s.shippingCost, s.notes, " +
+            "s.createdAt, s.updatedAt) FROM Shipment s";
+
+    /**
+     * Same columns as {@link #SELECT_DTO}, selectable one by one for {@code ?fields=} requests.
+     */
+    SparseProjection<ShipmentDto> SPARSE_PROJECTION = SparseProjection.builder("Shipment", "s", ShipmentDto::new)
+            .field("id", ShipmentDto::setId)
+            .field("trackingNumber", ShipmentDto::setTrackingNumber)
+            .field("senderId", ShipmentDto::setSenderId)
+            .field("receiverId", ShipmentDto::setReceiverId)
+            .field("originAddress", ShipmentDto::setOriginAddress)
+            .field("destinationAddress", ShipmentDto::setDestinationAddress)
+            .field("weightKg", ShipmentDto::setWeightKg)
+            .field("volumeM3", ShipmentDto::setVolumeM3)
+            .field("declaredValue", ShipmentDto::setDeclaredValue)
+            .field("status", ShipmentDto::setStatus)
+            .field("priority", ShipmentDto::setPriority)
+            .field("vehicleId", ShipmentDto::setVehicleId)
+            .field("driverId", ShipmentDto::setDriverId)
+            .field("pickupDate", ShipmentDto::setPickupDate)
+            .field("deliveryDate", ShipmentDto::setDeliveryDate)
+            .field("estimatedDelivery", ShipmentDto::setEstimatedDelivery)
+            .field("shippingCost", ShipmentDto::setShippingCost)
+            .field("notes", ShipmentDto::setNotes)
+            .field("createdAt", ShipmentDto::setCreatedAt)
+            .field("updatedAt", ShipmentDto::setUpdatedAt)
+            .build();
+
+    String SELECT_FRESHNESS = "SELECT new com.logistics.common.web.EntityFreshness(s.id, s.updatedAt) FROM Shipment s";
+
+    String SEARCH_CONDITION = " WHERE " +
+            "LOWER(s.trackingNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(s.originAddress) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(s.destinationAddress) LIKE LOWER(CONCAT('%', :search, '%'))";
+
+    String OVERDUE_CONDITION = " WHERE s.estimatedDelivery < :date AND s.status NOT IN ('DELIVERED', 'CANCELLED')";
+
+    @Query(value = SELECT_DTO,
+           countQuery = "SELECT COUNT(s) FROM Shipment s")
+    Page<ShipmentDto> findAllDtos(Pageable pageable);
+
+    @Query(SELECT_DTO + " WHERE s.id = :id")
+    Optional<ShipmentDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " WHERE s.trackingNumber = :trackingNumber")
+    Optional<ShipmentDto> findDtoByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
+    @Query(SELECT_FRESHNESS + " WHERE s.id = :id")
+    Optional<EntityFreshness> findFreshnessById(@Param("id") Long id);
+
+    @Query(SELECT_FRESHNESS + " WHERE s.trackingNumber = :trackingNumber")
+    Optional<EntityFreshness> findFreshnessByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
+    @Query(value = SELECT_DTO + " WHERE s.senderId = :userId OR s.receiverId = :userId",
+           countQuery = "SELECT COUNT(s) FROM Shipment s WHERE s.senderId = :userId OR s.receiverId = :userId")
+    Page<ShipmentDto> findDtosByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SELECT_DTO + " WHERE s.status = :status",
+           countQuery = "SELECT COUNT(s) FROM Shipment s WHERE s.status = :status")
+    Page<ShipmentDto> findDtosByStatus(@Param("status") Shipment.ShipmentStatus status, Pageable pageable);
+
+    @Query(value = SELECT_DTO + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(s) FROM Shipment s" + SEARCH_CONDITION)
+    Page<ShipmentDto> findDtosBySearchTerm(@Param("search") String search, Pageable pageable);
+
+    @Query(SELECT_DTO + " WHERE s.id IN :ids ORDER BY s.id")
+    List<ShipmentDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_DTO + " WHERE s.driverId = :driverId AND s.status IN :statuses ORDER BY s.id")
+    List<ShipmentDto> findDtosByDriverIdAndStatusIn(@Param("driverId") Long driverId,
+                                                    @Param("statuses") Collection<Shipment.ShipmentStatus> statuses);
+
+    @Query(SELECT_DTO + OVERDUE_CONDITION)
+    List<ShipmentDto> findOverdueDtos(@Param("date") LocalDateTime date);
+
+    @Query(SELECT_DTO + OVERDUE_CONDITION + " ORDER BY s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ShipmentDto> streamOverdueDtos(@Param("date") LocalDateTime date);
+}
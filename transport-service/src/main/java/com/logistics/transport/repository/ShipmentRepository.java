@@ -1,14 +1,18 @@
 package com.logistics.transport.repository;
 
 import com.logistics.transport.entity.Shipment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +47,49 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
     @Query("SELECT COUNT(s) FROM Shipment s WHERE s.status = :status")
     Long countByStatus(@Param("status") Shipment.ShipmentStatus status);
     
+    @Query("SELECT s.status, COUNT(s) FROM Shipment s GROUP BY s.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.status = :status, s.deliveryDate = :deliveryDate, " +
+           "s.updatedAt = :updatedAt, s.version = s.version + 1 WHERE s.id = :id AND s.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("version") Long version,
+                              @Param("status") Shipment.ShipmentStatus status,
+                              @Param("deliveryDate") LocalDateTime deliveryDate,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.vehicleId = :vehicleId, " +
+           "s.updatedAt = :updatedAt, s.version = s.version + 1 WHERE s.id = :id AND s.version = :version")
+    int assignVehicleIfVersion(@Param("id") Long id, @Param("version") Long version,
+                               @Param("vehicleId") Long vehicleId,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Shipment s WHERE s.id IN :ids ORDER BY s.id")
+    List<Shipment> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * (trackingNumber, id) pairs of the given tracking numbers; unknown ones are left out.
+     */
+    @Query("SELECT s.trackingNumber, s.id FROM Shipment s WHERE s.trackingNumber IN :trackingNumbers")
+    List<Object[]> findIdsByTrackingNumberIn(@Param("trackingNumbers") Collection<String> trackingNumbers);
+    
+    /**
+     * Set-based status change; {@code delivered} also stamps the delivery date with {@code updatedAt}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.status = :status, " +
+           "s.deliveryDate = CASE WHEN :delivered = TRUE THEN :updatedAt ELSE s.deliveryDate END, " +
+           "s.updatedAt = :updatedAt, s.version = s.version + 1 WHERE s.id IN :ids")
+    int updateStatusForIds(@Param("ids") Collection<Long> ids,
+                           @Param("status") Shipment.ShipmentStatus status,
+                           @Param("delivered") boolean delivered,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+    
     @Query("SELECT s FROM Shipment s WHERE s.estimatedDelivery < :date AND s.status NOT IN ('DELIVERED', 'CANCELLED')")
     List<Shipment> findOverdueShipments(@Param("date") LocalDateTime date);
+    
+    @Query("SELECT s FROM Shipment s WHERE s.id > :afterId ORDER BY s.id")
+    List<Shipment> findBatchAfterId(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
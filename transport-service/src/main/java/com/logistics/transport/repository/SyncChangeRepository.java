@@ -0,0 +1,41 @@
+package com.logistics.transport.repository;
+
+import com.logistics.transport.entity.SyncChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, Long> {
+
+    /**
+     * Id of the current transaction; assigns one if the transaction has not written yet.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_current_xact_id() AS text) AS bigint)", nativeQuery = true)
+    long currentTransactionId();
+
+    /**
+     * Lowest transaction id still running. Every transaction below it has committed or rolled
+     * back, so no change log entry with a smaller tx id can appear any more.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long completedHorizon();
+
+    @Query("SELECT c FROM SyncChange c WHERE c.driverId = :driverId AND c.txId < :horizon " +
+           "AND (c.txId > :txId OR (c.txId = :txId AND c.id > :id)) ORDER BY c.txId, c.id")
+    List<SyncChange> findChangesAfter(@Param("driverId") Long driverId,
+                                      @Param("txId") long txId,
+                                      @Param("id") long id,
+                                      @Param("horizon") long horizon,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM SyncChange c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
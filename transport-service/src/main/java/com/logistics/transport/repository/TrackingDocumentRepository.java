@@ -0,0 +1,16 @@
+package com.logistics.transport.repository;
+
+import com.logistics.transport.entity.TrackingDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrackingDocumentRepository extends JpaRepository<TrackingDocument, String> {
+    
+    @Modifying
+    @Query("UPDATE TrackingDocument t SET t.vehiclePlate = :plate WHERE t.vehicleId = :vehicleId")
+    int updateVehiclePlate(@Param("vehicleId") Long vehicleId, @Param("plate") String plate);
+}
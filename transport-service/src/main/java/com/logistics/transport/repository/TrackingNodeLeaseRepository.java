@@ -0,0 +1,38 @@
+package com.logistics.transport.repository;
+
+import com.logistics.transport.entity.TrackingNodeLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrackingNodeLeaseRepository extends JpaRepository<TrackingNodeLease, Integer> {
+
+    /**
+     * Claim the lowest node id that has no lease or whose lease expired, in one statement
+     * against the database clock. Returns null when a concurrent claimer won the same id
+     * (the conflicting row is then fresh) or when every node id is leased.
+     */
+    @Query(value = "INSERT INTO tracking_node_leases (node_id, instance_id, renewed_at) " +
+                   "SELECT n, :instanceId, now() FROM generate_series(0, :maxNodeId) AS n " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM tracking_node_leases l WHERE l.node_id = n " +
+                   "AND l.renewed_at >= now() - :ttlSeconds * INTERVAL '1 second') " +
+                   "ORDER BY n LIMIT 1 " +
+                   "ON CONFLICT (node_id) DO UPDATE SET instance_id = EXCLUDED.instance_id, renewed_at = EXCLUDED.renewed_at " +
+                   "WHERE tracking_node_leases.renewed_at < now() - :ttlSeconds * INTERVAL '1 second' " +
+                   "RETURNING node_id", nativeQuery = true)
+    Integer claimFreeNode(@Param("instanceId") String instanceId,
+                          @Param("ttlSeconds") long ttlSeconds,
+                          @Param("maxNodeId") int maxNodeId);
+
+    @Modifying
+    @Query("UPDATE TrackingNodeLease l SET l.renewedAt = CURRENT_TIMESTAMP " +
+           "WHERE l.nodeId = :nodeId AND l.instanceId = :instanceId")
+    int renew(@Param("nodeId") Integer nodeId, @Param("instanceId") String instanceId);
+
+    @Modifying
+    @Query("DELETE FROM TrackingNodeLease l WHERE l.nodeId = :nodeId AND l.instanceId = :instanceId")
+    int release(@Param("nodeId") Integer nodeId, @Param("instanceId") String instanceId);
+}
@@ -0,0 +1,66 @@
+package com.logistics.transport.repository;
+
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.transport.dto.VehicleDto;
+import com.logistics.transport.entity.Vehicle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-side vehicle queries that select straight into {@link VehicleDto}.
+ */
+@RepositoryDefinition(domainClass = Vehicle.class, idClass = Long.class)
+public interface VehicleReadRepository {
+
+    String SELECT_DTO = "SELECT new com.logistics.transport.dto.VehicleDto(" +
+            "v.id, v.licensePlate, v.vehicleType, v.brand, v.model, v.year, v.capacityKg, v.capacityM3, " +
+            "v.status, v.driverId, v.currentLocation, v.fuelType, v.fuelConsumption, " +
+            "v.maintenanceDate, v.insuranceExpiry, v.createdAt, v.updatedAt) FROM Vehicle v";
+
+    String SELECT_FRESHNESS = "SELECT new com.logistics.common.web.EntityFreshness(v.id, v.updatedAt) FROM Vehicle v";
+
+    String SEARCH_CONDITION = " WHERE " +
+            "LOWER(v.licensePlate) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(v.brand) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(v.model) LIKE LOWER(CONCAT('%', :search, '%'))";
+
+    @Query(value = SELECT_DTO,
+           countQuery = "SELECT COUNT(v) FROM Vehicle v")
+    Page<VehicleDto> findAllDtos(Pageable pageable);
+
+    @Query(SELECT_DTO + " WHERE v.id = :id")
+    Optional<VehicleDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " WHERE v.id IN :ids")
+    List<VehicleDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_DTO + " WHERE v.driverId = :driverId ORDER BY v.id")
+    List<VehicleDto> findDtosByDriverId(@Param("driverId") Long driverId);
+
+    @Query(SELECT_DTO + " WHERE v.licensePlate = :licensePlate")
+    Optional<VehicleDto> findDtoByLicensePlate(@Param("licensePlate") String licensePlate);
+
+    @Query(SELECT_FRESHNESS + " WHERE v.id = :id")
+    Optional<EntityFreshness> findFreshnessById(@Param("id") Long id);
+
+    @Query(SELECT_FRESHNESS + " WHERE v.licensePlate = :licensePlate")
+    Optional<EntityFreshness> findFreshnessByLicensePlate(@Param("licensePlate") String licensePlate);
+
+    @Query(value = SELECT_DTO + " WHERE v.status = :status",
+           countQuery = "SELECT COUNT(v) FROM Vehicle v WHERE v.status = :status")
+    Page<VehicleDto> findDtosByStatus(@Param("status") Vehicle.VehicleStatus status, Pageable pageable);
+
+    @Query(value = SELECT_DTO + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(v) FROM Vehicle v" + SEARCH_CONDITION)
+    Page<VehicleDto> findDtosBySearchTerm(@Param("search") String search, Pageable pageable);
+
+    @Query(SELECT_DTO + " WHERE v.status = 'AVAILABLE' AND v.driverId IS NOT NULL")
+    List<VehicleDto> findAvailableDtosWithDrivers();
+}
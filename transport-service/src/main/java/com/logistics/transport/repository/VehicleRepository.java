@@ -4,10 +4,12 @@ import com.logistics.transport.entity.Vehicle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,5 +36,15 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.status = :status")
     Long countByStatus(@Param("status") Vehicle.VehicleStatus status);
     
+    @Query("SELECT v.status, COUNT(v) FROM Vehicle v GROUP BY v.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Vehicle v SET v.status = :status, " +
+           "v.updatedAt = :updatedAt, v.version = v.version + 1 WHERE v.id = :id AND v.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("version") Long version,
+                              @Param("status") Vehicle.VehicleStatus status,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+    
     boolean existsByLicensePlate(String licensePlate);
 }
\ No newline at end of file
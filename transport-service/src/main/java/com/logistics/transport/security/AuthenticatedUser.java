@@ -0,0 +1,16 @@
+package com.logistics.transport.security;
+
+import java.security.Principal;
+
+/**
+ * Caller of a request as read from its JWT. {@code id} is the auth-service user id, which is
+ * also the id shipments, vehicles and routes store as {@code driverId}; it is null for tokens
+ * issued without it.
+ */
+public record AuthenticatedUser(Long id, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -35,6 +35,19 @@ public class JwtService {
         return (List<String>) claims.get("roles");
     }
 
+    /**
+     * The auth-service user id of the token's subject, or null for tokens issued without one.
+     */
+    public Long getUserIdFromJwtToken(String token) {
+        Object userId = Jwts.parser()
+                .verifyWith(getSignInKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .get("userId");
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
     public boolean validateJwtToken(String authToken) {
         try {
             Jwts.parser()
@@ -0,0 +1,99 @@
+package com.logistics.transport.service;
+
+import com.logistics.common.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and repeats it when a versioned write loses
+ * a race, either a conditional update matching no row or Hibernate's {@code @Version} check.
+ *
+ * Every attempt re-reads the current row and re-applies only the caller's change, so the
+ * concurrent writer's changes to other fields are kept rather than overwritten. Attempts back
+ * off with jitter; conflicts and exhausted retries are counted per operation in Micrometer.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${optimistic-retry.max-attempts:5}") int maxAttempts,
+                           @Value("${optimistic-retry.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Run {@code attempt} in a new transaction, retrying on optimistic locking failures.
+     * Throws {@link ConflictException} once every attempt has conflicted.
+     */
+    public <T> T execute(String operation, Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return transactionTemplate.execute(status -> attempt.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflicts(operation).increment();
+                if (attemptNumber >= maxAttempts) {
+                    failures(operation).increment();
+                    log.warn("{} still conflicting after {} attempts: {}", operation, attemptNumber, e.getMessage());
+                    throw new ConflictException("Concurrent modification, please retry: " + e.getMessage());
+                }
+                log.debug("{} conflicted on attempt {}, retrying", operation, attemptNumber);
+                pause(operation, attemptNumber);
+            }
+        }
+    }
+
+    /**
+     * Signal a lost race from a conditional update that matched no row.
+     */
+    public static void requireUpdated(int rows, String entity, Long id) {
+        if (rows == 0) {
+            throw new OptimisticLockingFailureException(entity + " " + id + " was modified concurrently");
+        }
+    }
+
+    private void pause(String operation, int attemptNumber) {
+        long ceiling = backoff.toMillis() << Math.min(attemptNumber - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying " + operation);
+        }
+    }
+
+    private Counter conflicts(String operation) {
+        return Counter.builder("transport.optimistic.conflicts")
+                .description("Versioned writes that lost a race and were retried")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private Counter failures(String operation) {
+        return Counter.builder("transport.optimistic.failures")
+                .description("Versioned writes that still conflicted after every retry")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -7,6 +7,7 @@ import com.logistics.transport.entity.Shipment;
 import com.logistics.transport.repository.RouteLogRepository;
 import com.logistics.transport.repository.ShipmentRepository;
 import com.logistics.transport.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,8 +18,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing route logs and tracking information.
@@ -32,6 +37,8 @@ public class RouteLogService {
     private final RouteLogRepository routeLogRepository;
     private final ShipmentRepository shipmentRepository;
     private final VehicleRepository vehicleRepository;
+    private final TrackingProjectionService trackingProjectionService;
+    private final EntityManager entityManager;
 
     /**
      * Create a new route log entry.
@@ -56,6 +63,7 @@ public class RouteLogService {
         routeLog.setTimestamp(LocalDateTime.now());
         
         RouteLog savedLog = routeLogRepository.save(routeLog);
+        trackingProjectionService.onRouteLogAdded(shipment, savedLog);
         log.info("Route log created for shipment {}: {} at {}", shipmentId, logType, location);
         
         return convertToDto(savedLog);
@@ -71,6 +79,17 @@ public class RouteLogService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Route logs of several shipments with one IN query, newest first, grouped by shipment id.
+     * Tracking numbers and plates are left unset; callers resolve those in their own batches.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<RouteLogDto>> getRouteLogsByShipmentIds(Collection<Long> shipmentIds) {
+        return routeLogRepository.findByShipmentIdInOrderByTimestampDesc(shipmentIds).stream()
+                .map(this::toDto)
+                .collect(Collectors.groupingBy(RouteLogDto::getShipmentId));
+    }
+
     /**
      * Get route logs for a specific shipment with pagination.
      */
@@ -126,6 +145,25 @@ public class RouteLogService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Hand route logs for a date range to {@code sink} one at a time while the result is read.
+     * Tracking number and vehicle plate come from the same query instead of a lookup per log.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
+    public void streamRouteLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<RouteLogDto> sink) {
+        try (Stream<Object[]> rows = routeLogRepository.streamByDateRangeWithReferences(startDate, endDate)) {
+            rows.forEach(row -> {
+                RouteLog routeLog = (RouteLog) row[0];
+                RouteLogDto dto = toDto(routeLog);
+                dto.setTrackingNumber((String) row[1]);
+                dto.setVehiclePlate((String) row[2]);
+                sink.accept(dto);
+                entityManager.detach(routeLog);
+            });
+        }
+    }
+
     /**
      * Add pickup log for shipment.
      */
@@ -179,6 +217,22 @@ public class RouteLogService {
     }
 
     private RouteLogDto convertToDto(RouteLog routeLog) {
+        RouteLogDto dto = toDto(routeLog);
+        
+        // Get tracking number from shipment
+        shipmentRepository.findById(routeLog.getShipmentId())
+                .ifPresent(shipment -> dto.setTrackingNumber(shipment.getTrackingNumber()));
+        
+        // Get vehicle plate from vehicle
+        if (routeLog.getVehicleId() != null) {
+            vehicleRepository.findById(routeLog.getVehicleId())
+                    .ifPresent(vehicle -> dto.setVehiclePlate(vehicle.getLicensePlate()));
+        }
+        
+        return dto;
+    }
+
+    private RouteLogDto toDto(RouteLog routeLog) {
         RouteLogDto dto = new RouteLogDto();
         dto.setId(routeLog.getId());
         dto.setShipmentId(routeLog.getShipmentId());
@@ -191,17 +245,6 @@ public class RouteLogService {
         dto.setDescription(routeLog.getDescription());
         dto.setTimestamp(routeLog.getTimestamp());
         dto.setNotes(routeLog.getNotes());
-        
-        // Get tracking number from shipment
-        shipmentRepository.findById(routeLog.getShipmentId())
-                .ifPresent(shipment -> dto.setTrackingNumber(shipment.getTrackingNumber()));
-        
-        // Get vehicle plate from vehicle
-        if (routeLog.getVehicleId() != null) {
-            vehicleRepository.findById(routeLog.getVehicleId())
-                    .ifPresent(vehicle -> dto.setVehiclePlate(vehicle.getLicensePlate()));
-        }
-        
         return dto;
     }
 }
\ No newline at end of file
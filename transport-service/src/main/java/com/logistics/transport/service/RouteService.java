@@ -0,0 +1,179 @@
+package com.logistics.transport.service;
+
+import com.logistics.common.exception.ResourceNotFoundException;
+import com.logistics.transport.dto.RouteDto;
+import com.logistics.transport.dto.RouteStopDto;
+import com.logistics.transport.entity.Route;
+import com.logistics.transport.entity.RouteStop;
+import com.logistics.transport.repository.RouteRepository;
+import com.logistics.transport.repository.RouteStopRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read access to routes and their stops. The collection lookups take many keys at once
+ * and answer with one IN query, so nested resolution does not query per parent. The
+ * driver lookups only ever return that driver's routes and stops.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RouteService {
+
+    private static final EnumSet<Route.RouteStatus> OPEN_STATUSES =
+            EnumSet.of(Route.RouteStatus.PLANNED, Route.RouteStatus.ACTIVE);
+
+    private final RouteRepository routeRepository;
+    private final RouteStopRepository routeStopRepository;
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public RouteDto getRouteById(Long id) {
+        return routeRepository.findById(id)
+                .map(this::convertToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Route not found with id: " + id));
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public Page<RouteDto> getRoutes(Route.RouteStatus status, Pageable pageable) {
+        Page<Route> routes = status == null
+                ? routeRepository.findAll(pageable)
+                : routeRepository.findByStatus(status, pageable);
+        return routes.map(this::convertToDto);
+    }
+
+    /**
+     * Routes by id keyed by id.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public Map<Long, RouteDto> findRoutesByIds(Collection<Long> ids) {
+        return routeRepository.findAllById(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(RouteDto::getId, Function.identity()));
+    }
+
+    /**
+     * Planned and active routes of several vehicles, earliest start first, grouped by vehicle id.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public Map<Long, List<RouteDto>> getOpenRoutesByVehicleIds(Collection<Long> vehicleIds) {
+        return routeRepository.findByVehicleIdInAndStatusInOrderByStartTimeAsc(vehicleIds, OPEN_STATUSES).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(RouteDto::getVehicleId));
+    }
+
+    /**
+     * Planned and active routes of one driver, earliest start first.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @driverSyncService.isCurrentDriver(#driverId)")
+    public List<RouteDto> getOpenRoutesByDriverId(Long driverId) {
+        return routeRepository.findByDriverIdAndStatusInOrderByStartTimeAsc(driverId, OPEN_STATUSES).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Routes by id keyed by id, leaving out those not assigned to {@code driverId}.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @driverSyncService.isCurrentDriver(#driverId)")
+    public Map<Long, RouteDto> findDriverRoutesByIds(Long driverId, Collection<Long> ids) {
+        return routeRepository.findByDriverIdAndIdIn(driverId, ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(RouteDto::getId, Function.identity()));
+    }
+
+    /**
+     * Stops of the planned and active routes of one driver, in route and stop order.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @driverSyncService.isCurrentDriver(#driverId)")
+    public List<RouteStopDto> getOpenStopsByDriverId(Long driverId) {
+        return routeStopRepository.findByDriverIdAndRouteStatusIn(driverId, OPEN_STATUSES).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stops by id keyed by id, leaving out those on routes not assigned to {@code driverId}.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @driverSyncService.isCurrentDriver(#driverId)")
+    public Map<Long, RouteStopDto> findDriverStopsByIds(Long driverId, Collection<Long> ids) {
+        return routeStopRepository.findByDriverIdAndIdIn(driverId, ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(RouteStopDto::getId, Function.identity()));
+    }
+
+    /**
+     * Stops by id keyed by id.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public Map<Long, RouteStopDto> findStopsByIds(Collection<Long> ids) {
+        return routeStopRepository.findAllById(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toMap(RouteStopDto::getId, Function.identity()));
+    }
+
+    /**
+     * Stops of several routes in stop order, grouped by route id.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public Map<Long, List<RouteStopDto>> getStopsByRouteIds(Collection<Long> routeIds) {
+        return routeStopRepository.findByRouteIdInOrderByRouteIdAscStopOrderAsc(routeIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(RouteStopDto::getRouteId));
+    }
+
+    /**
+     * Stops serving several shipments by planned arrival, grouped by shipment id.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public Map<Long, List<RouteStopDto>> getStopsByShipmentIds(Collection<Long> shipmentIds) {
+        return routeStopRepository.findByShipmentIdInOrderByPlannedArrivalAsc(shipmentIds).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(RouteStopDto::getShipmentId));
+    }
+
+    private RouteDto convertToDto(Route route) {
+        RouteDto dto = new RouteDto();
+        dto.setId(route.getId());
+        dto.setRouteName(route.getRouteName());
+        dto.setStartLocation(route.getStartLocation());
+        dto.setEndLocation(route.getEndLocation());
+        dto.setDistanceKm(route.getDistanceKm());
+        dto.setEstimatedDurationHours(route.getEstimatedDurationHours());
+        dto.setStatus(route.getStatus());
+        dto.setVehicleId(route.getVehicleId());
+        dto.setDriverId(route.getDriverId());
+        dto.setStartTime(route.getStartTime());
+        dto.setEndTime(route.getEndTime());
+        dto.setCreatedAt(route.getCreatedAt());
+        dto.setUpdatedAt(route.getUpdatedAt());
+        return dto;
+    }
+
+    private RouteStopDto convertToDto(RouteStop stop) {
+        RouteStopDto dto = new RouteStopDto();
+        dto.setId(stop.getId());
+        dto.setRouteId(stop.getRouteId());
+        dto.setShipmentId(stop.getShipmentId());
+        dto.setAddress(stop.getAddress());
+        dto.setStopOrder(stop.getStopOrder());
+        dto.setStopType(stop.getStopType());
+        dto.setStatus(stop.getStatus());
+        dto.setPlannedArrival(stop.getPlannedArrival());
+        dto.setActualArrival(stop.getActualArrival());
+        dto.setPlannedDeparture(stop.getPlannedDeparture());
+        dto.setActualDeparture(stop.getActualDeparture());
+        dto.setNotes(stop.getNotes());
+        return dto;
+    }
+}
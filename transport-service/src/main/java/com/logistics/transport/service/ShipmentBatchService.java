@@ -0,0 +1,222 @@
+package com.logistics.transport.service;
+
+import com.logistics.common.exception.BusinessException;
+import com.logistics.transport.dto.ShipmentStatusBatchItemDto;
+import com.logistics.transport.dto.ShipmentStatusBatchRequest;
+import com.logistics.transport.dto.ShipmentStatusBatchResultDto;
+import com.logistics.transport.entity.RouteLog;
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.SyncChange;
+import com.logistics.transport.repository.RouteLogRepository;
+import com.logistics.transport.repository.ShipmentRepository;
+import com.logistics.transport.service.facet.ShipmentFacetIndex;
+import com.logistics.transport.service.overdue.OverdueShipmentTracker;
+import com.logistics.transport.service.sync.SyncChangeRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for moving many shipments to one status in a single transaction.
+ *
+ * Requested shipments are locked a chunk at a time, each transition is checked, and the valid
+ * ones are applied with one set-based UPDATE per chunk. A route log is written for every
+ * changed shipment in the same transaction, and the results report the outcome per item.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ShipmentBatchService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ITEMS = 1000;
+
+    private final ShipmentRepository shipmentRepository;
+    private final RouteLogRepository routeLogRepository;
+    private final TrackingProjectionService trackingProjectionService;
+    private final ShipmentFacetIndex shipmentFacetIndex;
+    private final OverdueShipmentTracker overdueShipmentTracker;
+    private final StatusCounters statusCounters;
+    private final ShipmentCache shipmentCache;
+    private final SyncChangeRecorder syncChangeRecorder;
+
+    /**
+     * Move the requested shipments to {@code request.status}. Unknown shipments and transitions
+     * the shipment flow does not allow are reported per item and do not fail the batch.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ShipmentStatusBatchResultDto updateStatuses(ShipmentStatusBatchRequest request) {
+        List<Long> ids = distinct(request.getIds());
+        List<String> trackingNumbers = distinct(request.getTrackingNumbers());
+        if (ids.isEmpty() && trackingNumbers.isEmpty()) {
+            throw new BusinessException("At least one shipment id or tracking number is required");
+        }
+        if (ids.size() + trackingNumbers.size() > MAX_ITEMS) {
+            throw new BusinessException("A batch can change at most " + MAX_ITEMS + " shipments");
+        }
+
+        // Tracking numbers never change, so resolve them up front: a shipment named both by id and
+        // by tracking number is then locked, updated and reported once
+        Map<String, Long> resolved = resolveTrackingNumbers(trackingNumbers);
+        List<Long> shipmentIds = new ArrayList<>(ids);
+        List<String> unknownTrackingNumbers = new ArrayList<>();
+        for (String trackingNumber : trackingNumbers) {
+            Long id = resolved.get(trackingNumber);
+            if (id != null) {
+                shipmentIds.add(id);
+            } else {
+                unknownTrackingNumbers.add(trackingNumber);
+            }
+        }
+        shipmentIds = distinct(shipmentIds);
+        int requested = shipmentIds.size() + unknownTrackingNumbers.size();
+
+        List<ShipmentStatusBatchItemDto> results = new ArrayList<>(requested);
+        for (List<Long> chunk : chunks(shipmentIds)) {
+            Map<Long, Shipment> found = shipmentRepository.findAllByIdInForUpdate(chunk).stream()
+                    .collect(Collectors.toMap(Shipment::getId, Function.identity()));
+            applyChunk(chunk, found, request, results);
+        }
+        for (String trackingNumber : unknownTrackingNumbers) {
+            results.add(new ShipmentStatusBatchItemDto(null, trackingNumber, ShipmentStatusBatchItemDto.Outcome.NOT_FOUND,
+                    null, "Shipment not found with tracking number: " + trackingNumber));
+        }
+
+        Map<ShipmentStatusBatchItemDto.Outcome, Long> outcomes = results.stream()
+                .collect(Collectors.groupingBy(ShipmentStatusBatchItemDto::getOutcome, Collectors.counting()));
+        int updated = outcomes.getOrDefault(ShipmentStatusBatchItemDto.Outcome.UPDATED, 0L).intValue();
+        int unchanged = outcomes.getOrDefault(ShipmentStatusBatchItemDto.Outcome.UNCHANGED, 0L).intValue();
+        log.info("Batch status change to {}: {} requested, {} updated, {} unchanged",
+                request.getStatus(), requested, updated, unchanged);
+
+        return new ShipmentStatusBatchResultDto(request.getStatus(), requested, updated, unchanged,
+                requested - updated - unchanged, results);
+    }
+
+    private void applyChunk(List<Long> ids, Map<Long, Shipment> found, ShipmentStatusBatchRequest request,
+                            List<ShipmentStatusBatchItemDto> results) {
+        Shipment.ShipmentStatus target = request.getStatus();
+        List<Shipment> toUpdate = new ArrayList<>();
+        Map<Long, Shipment.ShipmentStatus> previousStatuses = new HashMap<>();
+
+        for (Long id : ids) {
+            Shipment shipment = found.get(id);
+            if (shipment == null) {
+                results.add(new ShipmentStatusBatchItemDto(id, null, ShipmentStatusBatchItemDto.Outcome.NOT_FOUND,
+                        null, "Shipment not found with id: " + id));
+                continue;
+            }
+            Shipment.ShipmentStatus previous = shipment.getStatus();
+            if (previous == target) {
+                results.add(item(shipment, ShipmentStatusBatchItemDto.Outcome.UNCHANGED, previous, null));
+            } else if (!previous.canTransitionTo(target)) {
+                results.add(item(shipment, ShipmentStatusBatchItemDto.Outcome.INVALID_TRANSITION, previous,
+                        "Cannot change status from " + previous + " to " + target));
+            } else {
+                previousStatuses.put(shipment.getId(), previous);
+                toUpdate.add(shipment);
+                results.add(item(shipment, ShipmentStatusBatchItemDto.Outcome.UPDATED, previous, null));
+            }
+        }
+        if (toUpdate.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean delivered = target == Shipment.ShipmentStatus.DELIVERED;
+        List<Long> updateIds = toUpdate.stream().map(Shipment::getId).collect(Collectors.toList());
+        // The rows are locked, so every one of them must match
+        int rows = shipmentRepository.updateStatusForIds(updateIds, target, delivered, now);
+        if (rows != updateIds.size()) {
+            throw new OptimisticLockingFailureException("Expected to update " + updateIds.size() + " shipments but updated " + rows);
+        }
+
+        Map<Long, RouteLog> routeLogs = new HashMap<>();
+        for (Shipment shipment : toUpdate) {
+            shipment.setStatus(target);
+            if (delivered) shipment.setDeliveryDate(now);
+            shipment.setUpdatedAt(now);
+            shipment.setVersion(shipment.getVersion() + 1);
+            routeLogs.put(shipment.getId(), buildRouteLog(shipment, previousStatuses.get(shipment.getId()), request, now));
+        }
+        routeLogRepository.saveAll(routeLogs.values());
+        trackingProjectionService.onShipmentsUpdated(toUpdate, routeLogs);
+
+        for (Shipment shipment : toUpdate) {
+            shipmentFacetIndex.indexAfterCommit(shipment);
+            overdueShipmentTracker.trackAfterCommit(shipment);
+            statusCounters.shipmentTransition(previousStatuses.get(shipment.getId()), target);
+            syncChangeRecorder.changed(SyncChange.EntityType.SHIPMENT, shipment.getId(), shipment.getDriverId(), shipment.getDriverId());
+            shipmentCache.evictAfterCommit(shipment.getId(), shipment.getTrackingNumber());
+        }
+    }
+
+    private RouteLog buildRouteLog(Shipment shipment, Shipment.ShipmentStatus previous,
+                                   ShipmentStatusBatchRequest request, LocalDateTime timestamp) {
+        RouteLog routeLog = new RouteLog();
+        routeLog.setShipmentId(shipment.getId());
+        routeLog.setVehicleId(shipment.getVehicleId());
+        routeLog.setDriverId(shipment.getDriverId());
+        routeLog.setLocation(request.getLocation());
+        routeLog.setLatitude(request.getLatitude());
+        routeLog.setLongitude(request.getLongitude());
+        routeLog.setLogType(logTypeFor(request.getStatus()));
+        routeLog.setDescription(request.getDescription() != null
+                ? request.getDescription()
+                : "Status changed from " + previous + " to " + request.getStatus());
+        routeLog.setTimestamp(timestamp);
+        return routeLog;
+    }
+
+    private static RouteLog.LogType logTypeFor(Shipment.ShipmentStatus status) {
+        return switch (status) {
+            case PICKED_UP -> RouteLog.LogType.PICKUP;
+            case IN_TRANSIT, OUT_FOR_DELIVERY -> RouteLog.LogType.DEPARTURE;
+            case DELIVERED -> RouteLog.LogType.DELIVERY;
+            default -> RouteLog.LogType.CHECKPOINT;
+        };
+    }
+
+    private static ShipmentStatusBatchItemDto item(Shipment shipment, ShipmentStatusBatchItemDto.Outcome outcome,
+                                                   Shipment.ShipmentStatus previous, String message) {
+        return new ShipmentStatusBatchItemDto(shipment.getId(), shipment.getTrackingNumber(), outcome, previous, message);
+    }
+
+    private Map<String, Long> resolveTrackingNumbers(List<String> trackingNumbers) {
+        Map<String, Long> resolved = new HashMap<>();
+        for (List<String> chunk : chunks(trackingNumbers)) {
+            for (Object[] row : shipmentRepository.findIdsByTrackingNumberIn(chunk)) {
+                resolved.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return resolved;
+    }
+
+    private static <T> List<T> distinct(List<T> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(from + CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+}
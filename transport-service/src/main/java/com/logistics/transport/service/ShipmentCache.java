@@ -0,0 +1,145 @@
+package com.logistics.transport.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logistics.transport.dto.ShipmentDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link ShipmentDto} for the public tracking and lookup endpoints.
+ *
+ * Two levels: a tracking number index resolving to the shipment id, and the DTOs
+ * themselves keyed by id, so both lookups share one copy of each shipment and a
+ * single invalidation covers both keys. Both caches are size and TTL bounded and
+ * publish hit/miss/eviction metrics to Micrometer.
+ *
+ * Mutations are applied once the surrounding transaction completes: committed
+ * changes are written through, rolled back ones only evict. Both only reach this
+ * instance, so the TTL is kept in the order of the shared max-age the endpoints
+ * advertise, bounding how long another instance can serve an outdated copy.
+ */
+@Component
+public class ShipmentCache {
+
+    private final Cache<Long, ShipmentDto> byId;
+    private final Cache<String, Long> trackingIndex;
+
+    public ShipmentCache(@Value("${cache.shipments.maximum-size:50000}") long maximumSize,
+                         @Value("${cache.shipments.ttl:10s}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.trackingIndex = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "shipments.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, trackingIndex, "shipments.byTrackingNumber");
+    }
+
+    public ShipmentDto getById(Long id, Function<Long, ShipmentDto> loader) {
+        return byId.get(id, loader);
+    }
+
+    /**
+     * Look up several shipments at once. Ids missing from the cache are handed to
+     * {@code loader} in a single call; ids it does not return are absent from the result.
+     */
+    public Map<Long, ShipmentDto> getAllById(Collection<Long> ids,
+                                             Function<Set<? extends Long>, Map<Long, ShipmentDto>> loader) {
+        return byId.getAll(ids, loader);
+    }
+
+    /**
+     * The cached copy if it was last updated at {@code updatedAt}, otherwise a fresh load
+     * that replaces it. Writes and evictions only reach this instance, so callers that
+     * already know the current updatedAt use this to avoid serving another node's stale copy.
+     */
+    public ShipmentDto getCurrentById(Long id, LocalDateTime updatedAt, Function<Long, ShipmentDto> loader) {
+        ShipmentDto cached = byId.getIfPresent(id);
+        if (cached != null && Objects.equals(cached.getUpdatedAt(), updatedAt)) {
+            return cached;
+        }
+        ShipmentDto loaded = loader.apply(id);
+        byId.put(id, loaded);
+        trackingIndex.put(loaded.getTrackingNumber(), id);
+        return loaded;
+    }
+
+    public ShipmentDto getByTrackingNumber(String trackingNumber, Function<String, ShipmentDto> loader) {
+        Long id = trackingIndex.getIfPresent(trackingNumber);
+        if (id != null) {
+            ShipmentDto cached = byId.getIfPresent(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        ShipmentDto loaded = loader.apply(trackingNumber);
+        trackingIndex.put(trackingNumber, loaded.getId());
+        // Keep an entry a concurrent writer may already have refreshed
+        return byId.get(loaded.getId(), key -> loaded);
+    }
+
+    /**
+     * Write the updated shipment through to the cache once the current transaction commits.
+     * The DTO is built after completion so it reflects values set during flush, such as updatedAt.
+     */
+    public void putAfterCommit(Supplier<ShipmentDto> shipment) {
+        afterCompletion(committed -> {
+            ShipmentDto dto = shipment.get();
+            if (committed) {
+                byId.put(dto.getId(), dto);
+                trackingIndex.put(dto.getTrackingNumber(), dto.getId());
+            } else {
+                evict(dto.getId(), dto.getTrackingNumber());
+            }
+        });
+    }
+
+    /**
+     * Drop a shipment from the cache once the current transaction completes.
+     */
+    public void evictAfterCommit(Long id, String trackingNumber) {
+        afterCompletion(committed -> evict(id, trackingNumber));
+    }
+
+    private void evict(Long id, String trackingNumber) {
+        byId.invalidate(id);
+        if (trackingNumber != null) {
+            trackingIndex.invalidate(trackingNumber);
+        }
+    }
+
+    private void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.logistics.transport.service;
+
+import com.logistics.transport.dto.ShipmentFacetCountsDto;
+import com.logistics.transport.dto.ShipmentFacetFilterDto;
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.Vehicle;
+import com.logistics.transport.service.facet.ShipmentFacet;
+import com.logistics.transport.service.facet.ShipmentFacetIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service computing the shipment console's badge counts in one database round trip.
+ *
+ * Status, priority and total come from the {@link ShipmentFacetIndex} once it is loaded.
+ * Overdue depends on the current time and vehicle status lives in another table, so those
+ * are fetched with a single query; while the index is still loading the same query also
+ * computes the shipment facets with GROUPING SETS in one pass over the filtered rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ShipmentFacetService {
+
+    private static final String OVERDUE_CONDITION =
+            "s.estimated_delivery < :now AND s.status NOT IN ('DELIVERED', 'CANCELLED')";
+
+    private static final String VEHICLE_COUNTS =
+            " UNION ALL SELECT 'VEHICLE_STATUS', v.status, COUNT(*), 0 FROM vehicles v GROUP BY v.status";
+
+    private final ShipmentFacetIndex shipmentFacetIndex;
+    private final EntityManager entityManager;
+
+    /**
+     * Get facet counts for the shipments matching an optional filter.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ShipmentFacetCountsDto getFacetCounts(ShipmentFacetFilterDto filter) {
+        ShipmentFacetCountsDto counts = new ShipmentFacetCountsDto(0,
+                zeroCounts(Shipment.ShipmentStatus.class),
+                zeroCounts(Shipment.Priority.class),
+                0,
+                zeroCounts(Vehicle.VehicleStatus.class));
+
+        boolean fromIndex = shipmentFacetIndex.isReady();
+        if (fromIndex) {
+            RoaringBitmap selection = selectFromIndex(filter);
+            counts.setTotal(selection.getLongCardinality());
+            shipmentFacetIndex.facetCounts(ShipmentFacet.STATUS, selection)
+                    .forEach((value, count) -> counts.getByStatus().put((Shipment.ShipmentStatus) value, count));
+            shipmentFacetIndex.facetCounts(ShipmentFacet.PRIORITY, selection)
+                    .forEach((value, count) -> counts.getByPriority().put((Shipment.Priority) value, count));
+        } else {
+            log.debug("Facet index not loaded yet, counting shipments in SQL");
+        }
+
+        Query query = entityManager.createNativeQuery(buildQuery(filter, fromIndex));
+        bindFilter(query, filter);
+        query.setParameter("now", LocalDateTime.now());
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            String value = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            switch (facet) {
+                case "TOTAL" -> {
+                    counts.setTotal(count);
+                    counts.setOverdue(((Number) row[3]).longValue());
+                }
+                case "OVERDUE" -> counts.setOverdue(count);
+                case "STATUS" -> {
+                    if (value != null) counts.getByStatus().put(Shipment.ShipmentStatus.valueOf(value), count);
+                }
+                case "PRIORITY" -> {
+                    if (value != null) counts.getByPriority().put(Shipment.Priority.valueOf(value), count);
+                }
+                case "VEHICLE_STATUS" -> {
+                    if (value != null) counts.getVehiclesByStatus().put(Vehicle.VehicleStatus.valueOf(value), count);
+                }
+                default -> log.warn("Unexpected facet row: {}", facet);
+            }
+        }
+        return counts;
+    }
+
+    private RoaringBitmap selectFromIndex(ShipmentFacetFilterDto filter) {
+        Map<ShipmentFacet, List<?>> criteria = new EnumMap<>(ShipmentFacet.class);
+        if (filter.getStatus() != null) criteria.put(ShipmentFacet.STATUS, filter.getStatus());
+        if (filter.getPriority() != null) criteria.put(ShipmentFacet.PRIORITY, filter.getPriority());
+        if (filter.getDriverId() != null) criteria.put(ShipmentFacet.DRIVER, List.of(filter.getDriverId()));
+        if (filter.getVehicleId() != null) criteria.put(ShipmentFacet.VEHICLE, List.of(filter.getVehicleId()));
+
+        if (filter.getCreatedFrom() != null || filter.getCreatedTo() != null) {
+            List<Object> days = shipmentFacetIndex.values(ShipmentFacet.CREATED_DAY).stream()
+                    .filter(day -> inRange((LocalDate) day, filter.getCreatedFrom(), filter.getCreatedTo()))
+                    .collect(Collectors.toList());
+            if (days.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            criteria.put(ShipmentFacet.CREATED_DAY, days);
+        }
+        return shipmentFacetIndex.select(criteria);
+    }
+
+    private String buildQuery(ShipmentFacetFilterDto filter, boolean fromIndex) {
+        List<String> conditions = filterConditions(filter);
+        if (fromIndex) {
+            conditions.add(OVERDUE_CONDITION);
+            return "SELECT 'OVERDUE', CAST(NULL AS varchar), COUNT(*), 0 FROM shipments s"
+                    + where(conditions) + VEHICLE_COUNTS;
+        }
+        return "SELECT CASE WHEN GROUPING(s.status) = 0 THEN 'STATUS' " +
+                "WHEN GROUPING(s.priority) = 0 THEN 'PRIORITY' ELSE 'TOTAL' END, " +
+                "COALESCE(s.status, s.priority), COUNT(*), " +
+                "COUNT(*) FILTER (WHERE " + OVERDUE_CONDITION + ") " +
+                "FROM shipments s" + where(conditions) +
+                " GROUP BY GROUPING SETS ((s.status), (s.priority), ())" + VEHICLE_COUNTS;
+    }
+
+    private List<String> filterConditions(ShipmentFacetFilterDto filter) {
+        List<String> conditions = new ArrayList<>();
+        if (hasValues(filter.getStatus())) conditions.add("s.status IN (:statuses)");
+        if (hasValues(filter.getPriority())) conditions.add("s.priority IN (:priorities)");
+        if (filter.getDriverId() != null) conditions.add("s.driver_id = :driverId");
+        if (filter.getVehicleId() != null) conditions.add("s.vehicle_id = :vehicleId");
+        if (filter.getCreatedFrom() != null) conditions.add("s.created_at >= :createdFrom");
+        if (filter.getCreatedTo() != null) conditions.add("s.created_at < :createdBefore");
+        return conditions;
+    }
+
+    private void bindFilter(Query query, ShipmentFacetFilterDto filter) {
+        if (hasValues(filter.getStatus())) {
+            query.setParameter("statuses", filter.getStatus().stream().map(Enum::name).collect(Collectors.toList()));
+        }
+        if (hasValues(filter.getPriority())) {
+            query.setParameter("priorities", filter.getPriority().stream().map(Enum::name).collect(Collectors.toList()));
+        }
+        if (filter.getDriverId() != null) query.setParameter("driverId", filter.getDriverId());
+        if (filter.getVehicleId() != null) query.setParameter("vehicleId", filter.getVehicleId());
+        if (filter.getCreatedFrom() != null) query.setParameter("createdFrom", filter.getCreatedFrom().atStartOfDay());
+        if (filter.getCreatedTo() != null) query.setParameter("createdBefore", filter.getCreatedTo().plusDays(1).atStartOfDay());
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static boolean inRange(LocalDate day, LocalDate from, LocalDate to) {
+        return (from == null || !day.isBefore(from)) && (to == null || !day.isAfter(to));
+    }
+
+    private static boolean hasValues(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+}
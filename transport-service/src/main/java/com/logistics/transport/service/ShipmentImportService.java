@@ -0,0 +1,259 @@
+package com.logistics.transport.service;
+
+import com.logistics.common.exception.BusinessException;
+import com.logistics.common.exception.ResourceNotFoundException;
+import com.logistics.transport.dto.CreateShipmentRequest;
+import com.logistics.transport.dto.ShipmentImportStatusDto;
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.service.facet.ShipmentFacetIndex;
+import com.logistics.transport.service.importer.CsvShipmentFileReader;
+import com.logistics.transport.service.importer.ShipmentFileReader;
+import com.logistics.transport.service.importer.ShipmentImportJob;
+import com.logistics.transport.service.importer.ShipmentRowMapper;
+import com.logistics.transport.service.importer.XlsxShipmentFileReader;
+import com.logistics.transport.service.overdue.OverdueShipmentTracker;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk shipment import from XLSX and CSV files.
+ *
+ * Rows are streamed from the uploaded file, mapped and validated in parallel one
+ * chunk at a time, and the valid rows of each chunk are persisted in a single
+ * transaction, flushing every {@code hibernate.jdbc.batch_size} entities so Hibernate
+ * sends them as JDBC batches. Imports run in the background; callers poll the job
+ * for progress and per-row errors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long FINISHED_JOB_RETENTION_HOURS = 24;
+
+    private final ShipmentService shipmentService;
+    private final TrackingProjectionService trackingProjectionService;
+    private final StatusCounters statusCounters;
+    private final OverdueShipmentTracker overdueShipmentTracker;
+    private final ShipmentFacetIndex shipmentFacetIndex;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    private final Map<String, ShipmentImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shipment-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Start a background import of the uploaded file.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ShipmentImportStatusDto startImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("Import file is empty");
+        }
+
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload";
+        ShipmentFileReader reader = readerFor(fileName);
+
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile("shipment-import-", fileName.substring(fileName.lastIndexOf('.')));
+            file.transferTo(tempFile);
+        } catch (IOException e) {
+            throw new BusinessException("Could not store import file: " + e.getMessage());
+        }
+
+        evictFinishedJobs();
+        ShipmentImportJob job = new ShipmentImportJob(UUID.randomUUID().toString(), fileName);
+        jobs.put(job.getJobId(), job);
+        importExecutor.submit(() -> runImport(job, reader, tempFile));
+
+        log.info("Shipment import {} queued for file {}", job.getJobId(), fileName);
+        return job.toDto();
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ShipmentImportStatusDto getImportStatus(String jobId) {
+        ShipmentImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + jobId);
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private ShipmentFileReader readerFor(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".xlsx")) {
+            return new XlsxShipmentFileReader();
+        }
+        if (lower.endsWith(".csv")) {
+            return new CsvShipmentFileReader();
+        }
+        throw new BusinessException("Unsupported import file type, expected .xlsx or .csv: " + fileName);
+    }
+
+    private void runImport(ShipmentImportJob job, ShipmentFileReader reader, Path file) {
+        job.start();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            reader.read(file, (rowNumber, values) -> {
+                chunk.add(new ImportRow(rowNumber, values));
+                if (chunk.size() >= CHUNK_SIZE) {
+                    processChunk(job, chunk);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk);
+            }
+            job.complete();
+            log.info("Shipment import {} completed: {}", job.getJobId(), job.toDto().getMessage());
+        } catch (Exception e) {
+            log.error("Shipment import {} failed: {}", job.getJobId(), e.getMessage(), e);
+            job.fail("Import aborted: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void processChunk(ShipmentImportJob job, List<ImportRow> rows) {
+        // Mapping and bean validation are CPU bound and independent per row
+        List<ValidatedRow> validated = rows.parallelStream()
+                .map(this::validate)
+                .collect(Collectors.toList());
+
+        List<ValidatedRow> valid = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.error() != null) {
+                job.recordError(row.rowNumber(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            insert(job, valid);
+        }
+        job.addProcessed(rows.size());
+    }
+
+    private ValidatedRow validate(ImportRow row) {
+        try {
+            CreateShipmentRequest request = ShipmentRowMapper.toRequest(row.values());
+            Set<ConstraintViolation<CreateShipmentRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return new ValidatedRow(row.rowNumber(), null, error);
+            }
+            return new ValidatedRow(row.rowNumber(), request, null);
+        } catch (IllegalArgumentException e) {
+            return new ValidatedRow(row.rowNumber(), null, e.getMessage());
+        }
+    }
+
+    private void insert(ShipmentImportJob job, List<ValidatedRow> rows) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int pending = 0;
+                for (ValidatedRow row : rows) {
+                    persist(row);
+                    if (++pending % batchSize == 0) {
+                        flushBatch();
+                    }
+                }
+                flushBatch();
+            });
+            job.addImported(rows.size());
+        } catch (DataAccessException | PersistenceException e) {
+            // One bad row rolls back the whole batch; retry row by row to isolate it
+            log.warn("Batch insert failed for import {}, retrying rows individually: {}",
+                    job.getJobId(), e.getMessage());
+            for (ValidatedRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        persist(row);
+                        flushBatch();
+                    });
+                    job.addImported(1);
+                } catch (DataAccessException | PersistenceException rowError) {
+                    job.recordError(row.rowNumber(), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(ValidatedRow row) {
+        Shipment shipment = shipmentService.buildShipment(row.request());
+        entityManager.persist(shipment);
+        trackingProjectionService.onShipmentCreated(shipment);
+        shipmentFacetIndex.indexAfterCommit(shipment);
+        overdueShipmentTracker.trackAfterCommit(shipment);
+        statusCounters.shipmentTransition(null, shipment.getStatus());
+    }
+
+    /**
+     * Send the pending inserts and detach them so the persistence context stays small.
+     */
+    private void flushBatch() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(FINISHED_JOB_RETENTION_HOURS);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCreatedAt().isBefore(cutoff));
+    }
+
+    private record ImportRow(long rowNumber, Map<String, String> values) {
+    }
+
+    private record ValidatedRow(long rowNumber, CreateShipmentRequest request, String error) {
+    }
+}
@@ -1,24 +1,44 @@
 package com.logistics.transport.service;
 
+import com.logistics.common.dto.MultiGetResult;
 import com.logistics.common.exception.BusinessException;
 import com.logistics.common.exception.ResourceNotFoundException;
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.common.web.SparseFields;
 import com.logistics.transport.dto.CreateShipmentRequest;
 import com.logistics.transport.dto.ShipmentDto;
 import com.logistics.transport.dto.UpdateShipmentRequest;
 import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.SyncChange;
+import com.logistics.transport.repository.ShipmentReadRepository;
 import com.logistics.transport.repository.ShipmentRepository;
+import com.logistics.transport.service.facet.ShipmentFacetIndex;
+import com.logistics.transport.service.overdue.OverdueShipmentTracker;
+import com.logistics.transport.service.sync.SyncChangeRecorder;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,28 +46,116 @@ import java.util.stream.Collectors;
 @Transactional
 public class ShipmentService {
 
+    private static final int OVERDUE_BATCH_SIZE = 500;
+    private static final int MAX_MULTI_GET = 500;
+
     private final ShipmentRepository shipmentRepository;
+    private final ShipmentReadRepository shipmentReadRepository;
+    private final TrackingNumberGenerator trackingNumberGenerator;
+    private final ShipmentCache shipmentCache;
+    private final TrackingProjectionService trackingProjectionService;
+    private final StatusCounters statusCounters;
+    private final OverdueShipmentTracker overdueShipmentTracker;
+    private final ShipmentFacetIndex shipmentFacetIndex;
+    private final OptimisticRetry optimisticRetry;
+    private final SyncChangeRecorder syncChangeRecorder;
+    private final EntityManager entityManager;
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public Page<ShipmentDto> getAllShipments(Pageable pageable) {
-        return shipmentRepository.findAll(pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<ShipmentDto> getAllShipments(SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return shipmentReadRepository.findAllDtos(pageable);
+        }
+        return ShipmentReadRepository.SPARSE_PROJECTION.page(entityManager, fields, "", Map.of(), pageable);
     }
 
+    // Cache hits must not open a transaction (and hold a pooled connection) for nothing
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ShipmentDto getShipmentById(Long id) {
-        Shipment shipment = shipmentRepository.findById(id)
+        return shipmentCache.getById(id, key -> shipmentReadRepository.findDtoById(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + key)));
+    }
+
+    /**
+     * Conditional GET validators of a shipment, from a query on id and updatedAt alone so
+     * a 304 never loads the full row. Always read from the database: the cache is local
+     * to this instance and may hold a copy another instance has since updated.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EntityFreshness getShipmentFreshness(Long id) {
+        return shipmentReadRepository.findFreshnessById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
-        return convertToDto(shipment);
     }
 
-    public ShipmentDto getShipmentByTrackingNumber(String trackingNumber) {
-        Shipment shipment = shipmentRepository.findByTrackingNumber(trackingNumber)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EntityFreshness getShipmentFreshnessByTrackingNumber(String trackingNumber) {
+        return shipmentReadRepository.findFreshnessByTrackingNumber(trackingNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with tracking number: " + trackingNumber));
-        return convertToDto(shipment);
+    }
+
+    /**
+     * The shipment matching validators just read by {@link #getShipmentFreshness}, served
+     * from the cache only when the cached copy carries the same updatedAt.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ShipmentDto getCurrentShipment(EntityFreshness freshness) {
+        return shipmentCache.getCurrentById((Long) freshness.id(), freshness.updatedAt(),
+                key -> shipmentReadRepository.findDtoById(key)
+                        .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + key)));
+    }
+
+    /**
+     * Several shipments by id, served from the cache where possible; the misses are
+     * loaded with one IN query. Items follow the requested order.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public MultiGetResult<Long, ShipmentDto> getShipmentsByIds(List<Long> ids) {
+        if (ids.size() > MAX_MULTI_GET) {
+            throw new BusinessException("At most " + MAX_MULTI_GET + " shipments can be requested at once");
+        }
+        return MultiGetResult.of(ids, findShipmentsByIds(ids));
+    }
+
+    /**
+     * Shipments by id keyed by id, without the multi-get size limit; for batch loaders
+     * whose key sets are already bounded by the enclosing query.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Map<Long, ShipmentDto> findShipmentsByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        return shipmentCache.getAllById(distinctIds, missing ->
+                shipmentReadRepository.findDtosByIds(new ArrayList<>(missing)).stream()
+                        .collect(Collectors.toMap(ShipmentDto::getId, Function.identity())));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ShipmentDto getShipmentByTrackingNumber(String trackingNumber) {
+        return shipmentCache.getByTrackingNumber(trackingNumber, key -> shipmentReadRepository.findDtoByTrackingNumber(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with tracking number: " + key)));
     }
 
     public ShipmentDto createShipment(CreateShipmentRequest request) {
+        Shipment shipment = buildShipment(request);
+
+        Shipment savedShipment = shipmentRepository.save(shipment);
+        trackingProjectionService.onShipmentCreated(savedShipment);
+        shipmentFacetIndex.indexAfterCommit(savedShipment);
+        overdueShipmentTracker.trackAfterCommit(savedShipment);
+        statusCounters.shipmentTransition(null, savedShipment.getStatus());
+        syncChangeRecorder.changed(SyncChange.EntityType.SHIPMENT, savedShipment.getId(), null, savedShipment.getDriverId());
+        log.info("Shipment created with tracking number: {}", savedShipment.getTrackingNumber());
+        
+        return convertToDto(savedShipment);
+    }
+
+    /**
+     * Build a new, unsaved shipment from a create request, including its shipping cost.
+     * Shared by single creation and bulk import so both price shipments the same way.
+     */
+    public Shipment buildShipment(CreateShipmentRequest request) {
         Shipment shipment = new Shipment();
+        shipment.setTrackingNumber(trackingNumberGenerator.nextTrackingNumber());
         shipment.setSenderId(request.getSenderId());
         shipment.setReceiverId(request.getReceiverId());
         shipment.setOriginAddress(request.getOriginAddress());
@@ -62,108 +170,194 @@ public class ShipmentService {
         
         // Calculate shipping cost
         shipment.setShippingCost(calculateShippingCost(shipment));
-
-        Shipment savedShipment = shipmentRepository.save(shipment);
-        log.info("Shipment created with tracking number: {}", savedShipment.getTrackingNumber());
-        
-        return convertToDto(savedShipment);
+        return shipment;
     }
 
+    /**
+     * Apply the non-null fields of {@code request}. On a concurrent modification the shipment
+     * is re-read and only these fields are applied again, so other writers' changes survive.
+     */
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ShipmentDto updateShipment(Long id, UpdateShipmentRequest request) {
-        Shipment shipment = shipmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+        return optimisticRetry.execute("shipment.update", () -> {
+            Shipment shipment = findShipment(id);
+            Shipment.ShipmentStatus previousStatus = shipment.getStatus();
+            Long previousDriverId = shipment.getDriverId();
 
-        // Update fields if provided
-        if (request.getOriginAddress() != null) shipment.setOriginAddress(request.getOriginAddress());
-        if (request.getDestinationAddress() != null) shipment.setDestinationAddress(request.getDestinationAddress());
-        if (request.getWeightKg() != null) shipment.setWeightKg(request.getWeightKg());
-        if (request.getVolumeM3() != null) shipment.setVolumeM3(request.getVolumeM3());
-        if (request.getDeclaredValue() != null) shipment.setDeclaredValue(request.getDeclaredValue());
-        if (request.getStatus() != null) shipment.setStatus(request.getStatus());
-        if (request.getPriority() != null) shipment.setPriority(request.getPriority());
-        if (request.getVehicleId() != null) shipment.setVehicleId(request.getVehicleId());
-        if (request.getDriverId() != null) shipment.setDriverId(request.getDriverId());
-        if (request.getPickupDate() != null) shipment.setPickupDate(request.getPickupDate());
-        if (request.getDeliveryDate() != null) shipment.setDeliveryDate(request.getDeliveryDate());
-        if (request.getEstimatedDelivery() != null) shipment.setEstimatedDelivery(request.getEstimatedDelivery());
-        if (request.getShippingCost() != null) shipment.setShippingCost(request.getShippingCost());
-        if (request.getNotes() != null) shipment.setNotes(request.getNotes());
-
-        Shipment updatedShipment = shipmentRepository.save(shipment);
-        log.info("Shipment updated: {}", updatedShipment.getTrackingNumber());
-        
-        return convertToDto(updatedShipment);
+            // Update fields if provided
+            if (request.getOriginAddress() != null) shipment.setOriginAddress(request.getOriginAddress());
+            if (request.getDestinationAddress() != null) shipment.setDestinationAddress(request.getDestinationAddress());
+            if (request.getWeightKg() != null) shipment.setWeightKg(request.getWeightKg());
+            if (request.getVolumeM3() != null) shipment.setVolumeM3(request.getVolumeM3());
+            if (request.getDeclaredValue() != null) shipment.setDeclaredValue(request.getDeclaredValue());
+            if (request.getStatus() != null) {
+                requireTransition(previousStatus, request.getStatus());
+                shipment.setStatus(request.getStatus());
+            }
+            if (request.getPriority() != null) shipment.setPriority(request.getPriority());
+            if (request.getVehicleId() != null) shipment.setVehicleId(request.getVehicleId());
+            if (request.getDriverId() != null) shipment.setDriverId(request.getDriverId());
+            if (request.getPickupDate() != null) shipment.setPickupDate(request.getPickupDate());
+            if (request.getDeliveryDate() != null) shipment.setDeliveryDate(request.getDeliveryDate());
+            if (request.getEstimatedDelivery() != null) shipment.setEstimatedDelivery(request.getEstimatedDelivery());
+            if (request.getShippingCost() != null) shipment.setShippingCost(request.getShippingCost());
+            if (request.getNotes() != null) shipment.setNotes(request.getNotes());
+
+            // Versioned: flushes as UPDATE ... WHERE id = ? AND version = ?
+            Shipment updatedShipment = shipmentRepository.saveAndFlush(shipment);
+            log.info("Shipment updated: {}", updatedShipment.getTrackingNumber());
+            return afterUpdate(updatedShipment, previousStatus, previousDriverId);
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteShipment(Long id) {
-        Shipment shipment = shipmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
-        
-        if (shipment.getStatus() == Shipment.ShipmentStatus.IN_TRANSIT) {
-            throw new BusinessException("Cannot delete shipment that is in transit");
-        }
-        
-        shipmentRepository.delete(shipment);
-        log.info("Shipment deleted: {}", shipment.getTrackingNumber());
+        optimisticRetry.execute("shipment.delete", () -> {
+            Shipment shipment = findShipment(id);
+
+            if (shipment.getStatus() == Shipment.ShipmentStatus.IN_TRANSIT) {
+                throw new BusinessException("Cannot delete shipment that is in transit");
+            }
+
+            shipmentRepository.delete(shipment);
+            shipmentRepository.flush();
+            trackingProjectionService.onShipmentDeleted(shipment);
+            shipmentFacetIndex.removeAfterCommit(shipment.getId());
+            overdueShipmentTracker.untrackAfterCommit(shipment.getId());
+            statusCounters.shipmentTransition(shipment.getStatus(), null);
+            syncChangeRecorder.deleted(SyncChange.EntityType.SHIPMENT, shipment.getId(), shipment.getDriverId());
+            shipmentCache.evictAfterCommit(shipment.getId(), shipment.getTrackingNumber());
+            log.info("Shipment deleted: {}", shipment.getTrackingNumber());
+            return null;
+        });
     }
 
-    public Page<ShipmentDto> getShipmentsByUser(Long userId, Pageable pageable) {
-        return shipmentRepository.findByUserId(userId, pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<ShipmentDto> getShipmentsByUser(Long userId, SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return shipmentReadRepository.findDtosByUserId(userId, pageable);
+        }
+        return ShipmentReadRepository.SPARSE_PROJECTION.page(entityManager, fields,
+                " WHERE s.senderId = :userId OR s.receiverId = :userId", Map.of("userId", userId), pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public Page<ShipmentDto> getShipmentsByStatus(Shipment.ShipmentStatus status, Pageable pageable) {
-        return shipmentRepository.findByStatus(status, pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<ShipmentDto> getShipmentsByStatus(Shipment.ShipmentStatus status, SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return shipmentReadRepository.findDtosByStatus(status, pageable);
+        }
+        return ShipmentReadRepository.SPARSE_PROJECTION.page(entityManager, fields,
+                " WHERE s.status = :status", Map.of("status", status), pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public Page<ShipmentDto> searchShipments(String searchTerm, Pageable pageable) {
-        return shipmentRepository.findBySearchTerm(searchTerm, pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<ShipmentDto> searchShipments(String searchTerm, SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return shipmentReadRepository.findDtosBySearchTerm(searchTerm, pageable);
+        }
+        return ShipmentReadRepository.SPARSE_PROJECTION.page(entityManager, fields,
+                ShipmentReadRepository.SEARCH_CONDITION, Map.of("search", searchTerm), pageable);
     }
 
+    /**
+     * Change the status with a single conditional update on id and version, retried against
+     * the latest row when another writer got there first.
+     */
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ShipmentDto updateShipmentStatus(Long id, Shipment.ShipmentStatus status) {
-        Shipment shipment = shipmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
-        
-        shipment.setStatus(status);
-        
-        // Update delivery date if delivered
-        if (status == Shipment.ShipmentStatus.DELIVERED) {
-            shipment.setDeliveryDate(LocalDateTime.now());
-        }
-        
-        Shipment updatedShipment = shipmentRepository.save(shipment);
-        log.info("Shipment status updated: {} -> {}", updatedShipment.getTrackingNumber(), status);
-        
-        return convertToDto(updatedShipment);
+        return optimisticRetry.execute("shipment.status", () -> {
+            Shipment shipment = findShipment(id);
+            Shipment.ShipmentStatus previousStatus = shipment.getStatus();
+            requireTransition(previousStatus, status);
+            LocalDateTime now = LocalDateTime.now();
+
+            // Update delivery date if delivered
+            LocalDateTime deliveryDate = status == Shipment.ShipmentStatus.DELIVERED ? now : shipment.getDeliveryDate();
+
+            OptimisticRetry.requireUpdated(
+                    shipmentRepository.updateStatusIfVersion(id, shipment.getVersion(), status, deliveryDate, now),
+                    "Shipment", id);
+            shipment.setStatus(status);
+            shipment.setDeliveryDate(deliveryDate);
+            shipment.setUpdatedAt(now);
+            shipment.setVersion(shipment.getVersion() + 1);
+            log.info("Shipment status updated: {} -> {}", shipment.getTrackingNumber(), status);
+            return afterUpdate(shipment, previousStatus, shipment.getDriverId());
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ShipmentDto assignVehicle(Long shipmentId, Long vehicleId) {
-        Shipment shipment = shipmentRepository.findById(shipmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + shipmentId));
-        
-        shipment.setVehicleId(vehicleId);
-        Shipment updatedShipment = shipmentRepository.save(shipment);
-        
-        log.info("Vehicle assigned to shipment: {} -> Vehicle ID: {}", 
-                updatedShipment.getTrackingNumber(), vehicleId);
-        
-        return convertToDto(updatedShipment);
+        return optimisticRetry.execute("shipment.assign-vehicle", () -> {
+            Shipment shipment = findShipment(shipmentId);
+            LocalDateTime now = LocalDateTime.now();
+
+            OptimisticRetry.requireUpdated(
+                    shipmentRepository.assignVehicleIfVersion(shipmentId, shipment.getVersion(), vehicleId, now),
+                    "Shipment", shipmentId);
+            shipment.setVehicleId(vehicleId);
+            shipment.setUpdatedAt(now);
+            shipment.setVersion(shipment.getVersion() + 1);
+            log.info("Vehicle assigned to shipment: {} -> Vehicle ID: {}",
+                    shipment.getTrackingNumber(), vehicleId);
+            return afterUpdate(shipment, shipment.getStatus(), shipment.getDriverId());
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
     public List<ShipmentDto> getOverdueShipments() {
-        List<Shipment> overdueShipments = shipmentRepository.findOverdueShipments(LocalDateTime.now());
-        return overdueShipments.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        if (!overdueShipmentTracker.isReady()) {
+            return shipmentReadRepository.findOverdueDtos(LocalDateTime.now());
+        }
+        List<ShipmentDto> overdue = new ArrayList<>();
+        forEachOverdueBatch(overdue::addAll);
+        return overdue;
+    }
+
+    /**
+     * Hand overdue shipments to {@code sink} one at a time while the result is read.
+     * Rows are projected straight into DTOs, so memory does not grow with the result.
+     * Once the overdue tracker is loaded only its overdue ids are read, by primary key.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
+    public void streamOverdueShipments(Consumer<ShipmentDto> sink) {
+        if (overdueShipmentTracker.isReady()) {
+            forEachOverdueBatch(batch -> batch.forEach(sink));
+            return;
+        }
+        try (Stream<ShipmentDto> shipments = shipmentReadRepository.streamOverdueDtos(LocalDateTime.now())) {
+            shipments.forEach(sink);
+        }
+    }
+
+    /**
+     * Load the shipments in the live overdue set by primary key, a batch at a time. The set may
+     * lag writes made on other instances, so rows that are no longer overdue are dropped.
+     */
+    private void forEachOverdueBatch(Consumer<List<ShipmentDto>> action) {
+        List<Long> ids = overdueShipmentTracker.overdueIds();
+        Collections.sort(ids);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += OVERDUE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + OVERDUE_BATCH_SIZE, ids.size()));
+            action.accept(shipmentReadRepository.findDtosByIds(batch).stream()
+                    .filter(shipment -> isOverdue(shipment, now))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private static boolean isOverdue(ShipmentDto shipment, LocalDateTime now) {
+        return shipment.getEstimatedDelivery() != null && shipment.getEstimatedDelivery().isBefore(now)
+                && shipment.getStatus() != Shipment.ShipmentStatus.DELIVERED
+                && shipment.getStatus() != Shipment.ShipmentStatus.CANCELLED;
     }
 
     private BigDecimal calculateShippingCost(Shipment shipment) {
@@ -186,6 +380,34 @@ public class ShipmentService {
         return totalCost;
     }
 
+    /**
+     * Rejects a status change the shipment flow does not allow; keeping the status is always fine.
+     */
+    private static void requireTransition(Shipment.ShipmentStatus from, Shipment.ShipmentStatus to) {
+        if (from != to && !from.canTransitionTo(to)) {
+            throw new BusinessException("Cannot change status from " + from + " to " + to);
+        }
+    }
+
+    private Shipment findShipment(Long id) {
+        return shipmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+    }
+
+    /**
+     * Propagate an updated shipment to the tracking projection, the in-memory indexes and the
+     * cache. Everything but the projection is applied once the transaction commits.
+     */
+    private ShipmentDto afterUpdate(Shipment shipment, Shipment.ShipmentStatus previousStatus, Long previousDriverId) {
+        trackingProjectionService.onShipmentUpdated(shipment);
+        shipmentFacetIndex.indexAfterCommit(shipment);
+        overdueShipmentTracker.trackAfterCommit(shipment);
+        statusCounters.shipmentTransition(previousStatus, shipment.getStatus());
+        syncChangeRecorder.changed(SyncChange.EntityType.SHIPMENT, shipment.getId(), previousDriverId, shipment.getDriverId());
+        shipmentCache.putAfterCommit(() -> convertToDto(shipment));
+        return convertToDto(shipment);
+    }
+
     private ShipmentDto convertToDto(Shipment shipment) {
         ShipmentDto dto = new ShipmentDto();
         dto.setId(shipment.getId());
@@ -0,0 +1,176 @@
+package com.logistics.transport.service;
+
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.Vehicle;
+import com.logistics.transport.repository.ShipmentRepository;
+import com.logistics.transport.repository.VehicleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live shipment and vehicle counts per status, kept in striped {@link LongAdder}s.
+ *
+ * Services report every status transition, applied once the surrounding transaction
+ * commits, so polling the counts never touches the database. The counters are seeded
+ * at startup and reconciled against {@code GROUP BY status} periodically, which repairs
+ * drift from writes that bypass the services or race a reconciliation pass.
+ * Each counter is also published as a Micrometer gauge.
+ */
+@Component
+@Slf4j
+public class StatusCounters {
+
+    private final ShipmentRepository shipmentRepository;
+    private final VehicleRepository vehicleRepository;
+
+    private final Map<Shipment.ShipmentStatus, LongAdder> shipments = adders(Shipment.ShipmentStatus.class);
+    private final Map<Vehicle.VehicleStatus, LongAdder> vehicles = adders(Vehicle.VehicleStatus.class);
+
+    private volatile LocalDateTime lastReconciledAt;
+
+    public StatusCounters(ShipmentRepository shipmentRepository,
+                          VehicleRepository vehicleRepository,
+                          MeterRegistry meterRegistry) {
+        this.shipmentRepository = shipmentRepository;
+        this.vehicleRepository = vehicleRepository;
+        shipments.forEach((status, adder) -> Gauge.builder("transport.shipments.status", adder, LongAdder::sum)
+                .description("Shipments currently in each status")
+                .tag("status", status.name())
+                .register(meterRegistry));
+        vehicles.forEach((status, adder) -> Gauge.builder("transport.vehicles.status", adder, LongAdder::sum)
+                .description("Vehicles currently in each status")
+                .tag("status", status.name())
+                .register(meterRegistry));
+    }
+
+    /**
+     * Record a shipment moving between statuses once the current transaction commits.
+     * Use {@code null} as {@code from} for a new shipment and as {@code to} for a deleted one.
+     */
+    public void shipmentTransition(Shipment.ShipmentStatus from, Shipment.ShipmentStatus to) {
+        transition(shipments, from, to);
+    }
+
+    /**
+     * Record a vehicle moving between statuses once the current transaction commits.
+     * Use {@code null} as {@code from} for a new vehicle and as {@code to} for a deleted one.
+     */
+    public void vehicleTransition(Vehicle.VehicleStatus from, Vehicle.VehicleStatus to) {
+        transition(vehicles, from, to);
+    }
+
+    public Map<Shipment.ShipmentStatus, Long> shipmentCounts() {
+        return snapshot(shipments, Shipment.ShipmentStatus.class);
+    }
+
+    public Map<Vehicle.VehicleStatus, Long> vehicleCounts() {
+        return snapshot(vehicles, Vehicle.VehicleStatus.class);
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Overwrite the counters with the database's counts.
+     */
+    @Scheduled(fixedDelayString = "${counters.status.reconcile-interval:PT5M}",
+            initialDelayString = "${counters.status.reconcile-interval:PT5M}")
+    public void reconcile() {
+        try {
+            long shipmentDrift = reconcile(shipments, shipmentRepository.countGroupedByStatus(),
+                    Shipment.ShipmentStatus.class);
+            long vehicleDrift = reconcile(vehicles, vehicleRepository.countGroupedByStatus(),
+                    Vehicle.VehicleStatus.class);
+            lastReconciledAt = LocalDateTime.now();
+            if (shipmentDrift != 0 || vehicleDrift != 0) {
+                log.warn("Status counters corrected: shipments drifted by {}, vehicles by {}", shipmentDrift, vehicleDrift);
+            }
+        } catch (RuntimeException e) {
+            log.error("Status counter reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Apply the database counts as deltas. A status whose counter moved while the query ran
+     * is left alone, since the query may or may not include that write; the next pass fixes it.
+     */
+    private static <E extends Enum<E>> long reconcile(Map<E, LongAdder> counters, List<Object[]> rows, Class<E> type) {
+        Map<E, Long> before = snapshot(counters, type);
+
+        Map<E, Long> actual = new EnumMap<>(type);
+        counters.keySet().forEach(key -> actual.put(key, 0L));
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                actual.put(type.cast(row[0]), ((Number) row[1]).longValue());
+            }
+        }
+
+        long drift = 0;
+        for (Map.Entry<E, LongAdder> entry : counters.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long current = adder.sum();
+            if (current != before.get(entry.getKey())) {
+                continue;
+            }
+            long delta = actual.get(entry.getKey()) - current;
+            if (delta != 0) {
+                adder.add(delta);
+                drift += Math.abs(delta);
+            }
+        }
+        return drift;
+    }
+
+    private static <E extends Enum<E>> void transition(Map<E, LongAdder> counters, E from, E to) {
+        if (from == to) {
+            return;
+        }
+        Runnable apply = () -> {
+            if (from != null) counters.get(from).decrement();
+            if (to != null) counters.get(to).increment();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    private static <E extends Enum<E>> Map<E, LongAdder> adders(Class<E> type) {
+        Map<E, LongAdder> adders = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            adders.put(value, new LongAdder());
+        }
+        return adders;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> snapshot(Map<E, LongAdder> counters, Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        counters.forEach((status, adder) -> counts.put(status, adder.sum()));
+        return counts;
+    }
+}
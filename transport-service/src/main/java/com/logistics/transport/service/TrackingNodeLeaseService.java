@@ -0,0 +1,49 @@
+package com.logistics.transport.service;
+
+import com.logistics.transport.repository.TrackingNodeLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Leases tracking number generator node ids from the database, so no two running instances
+ * share one. Each call runs in its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class TrackingNodeLeaseService {
+
+    private static final int CLAIM_ATTEMPTS = 5;
+
+    private final TrackingNodeLeaseRepository trackingNodeLeaseRepository;
+
+    /**
+     * Claim a free or expired node id for {@code instanceId}.
+     *
+     * @throws IllegalStateException when every node id up to {@code maxNodeId} is leased
+     */
+    public int claim(String instanceId, Duration ttl, int maxNodeId) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            Integer nodeId = trackingNodeLeaseRepository.claimFreeNode(instanceId, ttl.toSeconds(), maxNodeId);
+            if (nodeId != null) {
+                return nodeId;
+            }
+        }
+        throw new IllegalStateException("No free tracking node id; all " + (maxNodeId + 1) + " are leased");
+    }
+
+    /**
+     * Extend the lease; false if it expired and was claimed by another instance meanwhile.
+     */
+    public boolean renew(int nodeId, String instanceId) {
+        return trackingNodeLeaseRepository.renew(nodeId, instanceId) == 1;
+    }
+
+    public void release(int nodeId, String instanceId) {
+        trackingNodeLeaseRepository.release(nodeId, instanceId);
+    }
+}
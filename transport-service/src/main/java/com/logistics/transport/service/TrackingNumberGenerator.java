@@ -0,0 +1,188 @@
+package com.logistics.transport.service;
+
+import com.netflix.appinfo.EurekaInstanceConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style generator for shipment tracking numbers.
+ *
+ * Each id packs a millisecond timestamp (41 bits), the node id of this instance
+ * (10 bits) and a per-millisecond sequence (12 bits). Timestamp and sequence live
+ * in a single {@link AtomicLong} advanced by CAS, so generation never locks. When
+ * the 4096 ids of a millisecond are used up, or the wall clock moves backwards,
+ * the generator borrows the next millisecond instead of waiting, which keeps ids
+ * unique and monotonic under any burst.
+ *
+ * Node ids must be unique among running instances. Either set {@code tracking.node-id}
+ * explicitly per instance, or leave it negative and the instance leases a free node id from
+ * the {@code tracking_node_leases} table and keeps renewing it. An instance that cannot renew
+ * stops issuing numbers once its lease could have expired, before another one may take over.
+ *
+ * The id is passed through a fixed bijection before formatting, so consecutive
+ * numbers do not look sequential and do not reveal the creation time, and a Luhn
+ * check digit is appended: TRK + 19 digits + check digit.
+ */
+@Component
+@Slf4j
+public class TrackingNumberGenerator {
+
+    private static final String PREFIX = "TRK";
+    private static final int DIGITS = 19;
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long ID_MASK = Long.MAX_VALUE;
+
+    // Odd multiplier, so multiplication modulo 2^63 is invertible
+    private static final long SCRAMBLE_MULTIPLIER = 0x5DEECE66DL * 0x2545F491L | 1L;
+    private static final long SCRAMBLE_XOR = 0x3C6EF372FE94F82AL & ID_MASK;
+
+    /** Last issued (timestamp << SEQUENCE_BITS | sequence). */
+    private final AtomicLong state = new AtomicLong();
+    private final TrackingNodeLeaseService leaseService;
+    private final Duration leaseTtl;
+    /** Lease holder name, or null when the node id is configured explicitly. */
+    private final String leaseHolder;
+
+    private volatile long nodeId;
+    /** System.nanoTime() after which the leased node id may belong to another instance. */
+    private volatile long leaseValidUntil;
+
+    public TrackingNumberGenerator(@Value("${tracking.node-id:-1}") long configuredNodeId,
+                                   @Value("${tracking.node-lease.ttl:PT60S}") Duration leaseTtl,
+                                   TrackingNodeLeaseService leaseService,
+                                   ObjectProvider<EurekaInstanceConfig> eurekaInstance) {
+        this.leaseService = leaseService;
+        this.leaseTtl = leaseTtl;
+        if (configuredNodeId >= 0) {
+            if (configuredNodeId > MAX_NODE_ID) {
+                throw new IllegalStateException("tracking.node-id must be between 0 and " + MAX_NODE_ID);
+            }
+            this.leaseHolder = null;
+            this.nodeId = configuredNodeId;
+            log.info("Tracking number generator using configured node id {}", nodeId);
+        } else {
+            EurekaInstanceConfig instance = eurekaInstance.getIfAvailable();
+            String name = instance != null && instance.getInstanceId() != null
+                    ? instance.getInstanceId()
+                    : String.valueOf(ProcessHandle.current().pid());
+            this.leaseHolder = name + "/" + UUID.randomUUID();
+            claimLease();
+        }
+    }
+
+    public String nextTrackingNumber() {
+        String raw = Long.toString(scramble(nextId()));
+        StringBuilder digits = new StringBuilder(DIGITS);
+        for (int i = raw.length(); i < DIGITS; i++) {
+            digits.append('0');
+        }
+        digits.append(raw);
+        return PREFIX + digits + luhnCheckDigit(digits);
+    }
+
+    long nextId() {
+        if (leaseHolder != null && System.nanoTime() - leaseValidUntil > 0) {
+            throw new IllegalStateException("Tracking node id lease expired; refusing to issue tracking numbers");
+        }
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long node = nodeId;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = current + 1;
+            } else {
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                        | (node << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    private static long scramble(long id) {
+        long x = (id * SCRAMBLE_MULTIPLIER) & ID_MASK;
+        x ^= x >>> 29;
+        return x ^ SCRAMBLE_XOR;
+    }
+
+    private static int luhnCheckDigit(CharSequence digits) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Keep the leased node id; if the lease was lost meanwhile, lease a new one.
+     */
+    @Scheduled(fixedDelayString = "${tracking.node-lease.renew-interval:PT15S}")
+    public void renewLease() {
+        if (leaseHolder == null) {
+            return;
+        }
+        long renewStartedAt = System.nanoTime();
+        try {
+            if (leaseService.renew((int) nodeId, leaseHolder)) {
+                leaseValidUntil = renewStartedAt + leaseTtl.toNanos();
+            } else {
+                log.warn("Lease on tracking node id {} was lost, claiming a new one", nodeId);
+                claimLease();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew lease on tracking node id {}", nodeId, e);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leaseHolder == null) {
+            return;
+        }
+        try {
+            leaseService.release((int) nodeId, leaseHolder);
+        } catch (RuntimeException e) {
+            log.warn("Could not release lease on tracking node id {}", nodeId, e);
+        }
+    }
+
+    private void claimLease() {
+        long claimStartedAt = System.nanoTime();
+        int claimed = leaseService.claim(leaseHolder, leaseTtl, (int) MAX_NODE_ID);
+        nodeId = claimed;
+        leaseValidUntil = claimStartedAt + leaseTtl.toNanos();
+        log.info("Tracking number generator leased node id {} as {}", claimed, leaseHolder);
+    }
+}
@@ -0,0 +1,267 @@
+package com.logistics.transport.service;
+
+import com.logistics.common.exception.ResourceNotFoundException;
+import com.logistics.transport.dto.TrackingDocumentDto;
+import com.logistics.transport.entity.RouteLog;
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.TrackingDocument;
+import com.logistics.transport.entity.Vehicle;
+import com.logistics.transport.repository.RouteLogRepository;
+import com.logistics.transport.repository.ShipmentRepository;
+import com.logistics.transport.repository.TrackingDocumentRepository;
+import com.logistics.transport.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining the {@link TrackingDocument} read model.
+ * Shipment and route log writes call in here within their own transaction, so the
+ * document always commits together with the change it reflects.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TrackingProjectionService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final TrackingDocumentRepository trackingDocumentRepository;
+    private final ShipmentRepository shipmentRepository;
+    private final RouteLogRepository routeLogRepository;
+    private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+
+    @Value("${tracking.max-checkpoints:10}")
+    private int maxCheckpoints;
+
+    /**
+     * Get the tracking document for a tracking number with a single key lookup.
+     */
+    @Transactional(readOnly = true)
+    public TrackingDocumentDto getTracking(String trackingNumber) {
+        TrackingDocument document = trackingDocumentRepository.findById(trackingNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with tracking number: " + trackingNumber));
+        return convertToDto(document);
+    }
+
+    /**
+     * Project a newly created shipment. It cannot have route logs yet.
+     */
+    public void onShipmentCreated(Shipment shipment) {
+        TrackingDocument document = new TrackingDocument();
+        document.setTrackingNumber(shipment.getTrackingNumber());
+        document.setVehiclePlate(plateFor(shipment.getVehicleId()));
+        applyShipment(document, shipment);
+        entityManager.persist(document);
+    }
+
+    public void onShipmentUpdated(Shipment shipment) {
+        TrackingDocument document = trackingDocumentRepository.findById(shipment.getTrackingNumber()).orElse(null);
+        if (document == null) {
+            entityManager.persist(buildDocument(shipment));
+            return;
+        }
+        if (!Objects.equals(document.getVehicleId(), shipment.getVehicleId())) {
+            document.setVehiclePlate(plateFor(shipment.getVehicleId()));
+        }
+        applyShipment(document, shipment);
+    }
+
+    public void onShipmentDeleted(Shipment shipment) {
+        trackingDocumentRepository.deleteById(shipment.getTrackingNumber());
+    }
+
+    public void onRouteLogAdded(Shipment shipment, RouteLog routeLog) {
+        TrackingDocument document = trackingDocumentRepository.findById(shipment.getTrackingNumber()).orElse(null);
+        if (document == null) {
+            // Built from the route log table, which already contains the new entry
+            entityManager.persist(buildDocument(shipment));
+            return;
+        }
+
+        prependCheckpoint(document, routeLog);
+    }
+
+    /**
+     * Project a batch of status changes together with the route log written for each shipment.
+     * Existing documents are loaded with one query rather than one per shipment.
+     */
+    public void onShipmentsUpdated(List<Shipment> shipments, Map<Long, RouteLog> routeLogs) {
+        Map<String, TrackingDocument> documents = trackingDocumentRepository
+                .findAllById(shipments.stream().map(Shipment::getTrackingNumber).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(TrackingDocument::getTrackingNumber, document -> document));
+
+        for (Shipment shipment : shipments) {
+            TrackingDocument document = documents.get(shipment.getTrackingNumber());
+            if (document == null) {
+                entityManager.persist(buildDocument(shipment));
+                continue;
+            }
+            if (!Objects.equals(document.getVehicleId(), shipment.getVehicleId())) {
+                document.setVehiclePlate(plateFor(shipment.getVehicleId()));
+            }
+            applyShipment(document, shipment);
+            RouteLog routeLog = routeLogs.get(shipment.getId());
+            if (routeLog != null) {
+                prependCheckpoint(document, routeLog);
+            }
+        }
+    }
+
+    public void onVehiclePlateChanged(Long vehicleId, String licensePlate) {
+        trackingDocumentRepository.updateVehiclePlate(vehicleId, licensePlate);
+    }
+
+    /**
+     * Recreate every tracking document from the shipment, route log and vehicle tables.
+     * Runs in one transaction, so readers keep seeing the previous documents until it commits.
+     * A shipment committed while it runs already has its document written alongside it; that
+     * document is refreshed in place rather than inserted again, which would break the key.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public long rebuild() {
+        log.info("Rebuilding tracking documents");
+        trackingDocumentRepository.deleteAllInBatch();
+
+        long rebuilt = 0;
+        Long lastId = 0L;
+        List<Shipment> batch;
+        while (!(batch = shipmentRepository.findBatchAfterId(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE))).isEmpty()) {
+            Set<Long> shipmentIds = batch.stream().map(Shipment::getId).collect(Collectors.toSet());
+            Map<Long, List<RouteLog>> logsByShipment = routeLogRepository.findByShipmentIdInOrderByTimestampDesc(shipmentIds)
+                    .stream()
+                    .collect(Collectors.groupingBy(RouteLog::getShipmentId));
+
+            Set<Long> vehicleIds = batch.stream()
+                    .map(Shipment::getVehicleId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, String> plates = new HashMap<>();
+            for (Vehicle vehicle : vehicleRepository.findAllById(vehicleIds)) {
+                plates.put(vehicle.getId(), vehicle.getLicensePlate());
+            }
+
+            // Shipments created since the delete already committed their own document
+            Map<String, TrackingDocument> existing = trackingDocumentRepository
+                    .findAllById(batch.stream().map(Shipment::getTrackingNumber).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(TrackingDocument::getTrackingNumber, document -> document));
+
+            for (Shipment shipment : batch) {
+                TrackingDocument document = existing.get(shipment.getTrackingNumber());
+                boolean created = document == null;
+                if (created) {
+                    document = new TrackingDocument();
+                    document.setTrackingNumber(shipment.getTrackingNumber());
+                }
+                document.setVehiclePlate(plates.get(shipment.getVehicleId()));
+                document.setCheckpoints(toCheckpoints(logsByShipment.getOrDefault(shipment.getId(), List.of())));
+                applyShipment(document, shipment);
+                if (created) {
+                    entityManager.persist(document);
+                }
+            }
+
+            rebuilt += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        log.info("Rebuilt {} tracking documents", rebuilt);
+        return rebuilt;
+    }
+
+    private TrackingDocument buildDocument(Shipment shipment) {
+        TrackingDocument document = new TrackingDocument();
+        document.setTrackingNumber(shipment.getTrackingNumber());
+        document.setVehiclePlate(plateFor(shipment.getVehicleId()));
+        document.setCheckpoints(toCheckpoints(routeLogRepository.findByShipmentIdOrderByTimestampDesc(
+                shipment.getId(), PageRequest.of(0, maxCheckpoints))));
+        applyShipment(document, shipment);
+        return document;
+    }
+
+    private void applyShipment(TrackingDocument document, Shipment shipment) {
+        document.setShipmentId(shipment.getId());
+        document.setStatus(shipment.getStatus());
+        document.setOriginAddress(shipment.getOriginAddress());
+        document.setDestinationAddress(shipment.getDestinationAddress());
+        document.setEstimatedDelivery(shipment.getEstimatedDelivery());
+        document.setDeliveryDate(shipment.getDeliveryDate());
+        document.setVehicleId(shipment.getVehicleId());
+    }
+
+    private void prependCheckpoint(TrackingDocument document, RouteLog routeLog) {
+        List<TrackingDocument.Checkpoint> checkpoints = new ArrayList<>(maxCheckpoints);
+        checkpoints.add(toCheckpoint(routeLog));
+        for (TrackingDocument.Checkpoint checkpoint : document.getCheckpoints()) {
+            if (checkpoints.size() >= maxCheckpoints) {
+                break;
+            }
+            checkpoints.add(checkpoint);
+        }
+        document.setCheckpoints(checkpoints);
+    }
+
+    private String plateFor(Long vehicleId) {
+        if (vehicleId == null) {
+            return null;
+        }
+        return vehicleRepository.findById(vehicleId)
+                .map(Vehicle::getLicensePlate)
+                .orElse(null);
+    }
+
+    private List<TrackingDocument.Checkpoint> toCheckpoints(List<RouteLog> newestFirst) {
+        return newestFirst.stream()
+                .limit(maxCheckpoints)
+                .map(this::toCheckpoint)
+                .collect(Collectors.toList());
+    }
+
+    private TrackingDocument.Checkpoint toCheckpoint(RouteLog routeLog) {
+        return new TrackingDocument.Checkpoint(
+                routeLog.getId(),
+                routeLog.getLocation(),
+                routeLog.getLogType(),
+                routeLog.getDescription(),
+                routeLog.getTimestamp());
+    }
+
+    private TrackingDocumentDto convertToDto(TrackingDocument document) {
+        TrackingDocumentDto dto = new TrackingDocumentDto();
+        dto.setTrackingNumber(document.getTrackingNumber());
+        dto.setStatus(document.getStatus());
+        dto.setOriginAddress(document.getOriginAddress());
+        dto.setDestinationAddress(document.getDestinationAddress());
+        dto.setEstimatedDelivery(document.getEstimatedDelivery());
+        dto.setDeliveryDate(document.getDeliveryDate());
+        dto.setVehiclePlate(document.getVehiclePlate());
+        dto.setCheckpoints(document.getCheckpoints().stream()
+                .map(checkpoint -> new TrackingDocumentDto.CheckpointDto(
+                        checkpoint.getLocation(),
+                        checkpoint.getLogType(),
+                        checkpoint.getDescription(),
+                        checkpoint.getTimestamp()))
+                .collect(Collectors.toList()));
+        dto.setUpdatedAt(document.getUpdatedAt());
+        return dto;
+    }
+}
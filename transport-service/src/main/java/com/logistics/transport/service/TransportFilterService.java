@@ -2,22 +2,26 @@ package com.logistics.transport.service;
 
 import com.logistics.transport.dto.ShipmentDto;
 import com.logistics.transport.dto.TransportFilterRequestDto;
-import com.logistics.transport.entity.Shipment;
-import com.logistics.transport.repository.ShipmentRepository;
+import com.logistics.transport.repository.ShipmentReadRepository;
+import com.logistics.transport.service.filter.ShipmentFilter;
+import com.logistics.transport.service.filter.ShipmentFilterPlans;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for filtering and searching transport operations.
@@ -28,90 +32,68 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class TransportFilterService {
 
-    private final ShipmentRepository shipmentRepository;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final ShipmentReadRepository shipmentReadRepository;
+    private final ShipmentFilterPlans filterPlans;
     private final EntityManager entityManager;
 
     /**
-     * Filter shipments based on multiple criteria.
+     * Filter shipments based on multiple criteria, one page at a time.
+     * The query text comes from a plan compiled once per filter shape and sort;
+     * the count query only runs when the page does not already determine the total.
      */
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public List<ShipmentDto> filterTransports(TransportFilterRequestDto filter) {
+    public Page<ShipmentDto> filterTransports(TransportFilterRequestDto filter, Pageable pageable) {
         log.debug("Filtering transports with criteria: {}", filter);
         
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Shipment> query = cb.createQuery(Shipment.class);
-        Root<Shipment> root = query.from(Shipment.class);
-        
-        List<Predicate> predicates = new ArrayList<>();
-        
-        // Filter by origin
-        if (filter.getOrigin() != null && !filter.getOrigin().trim().isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("originAddress")), 
-                    "%" + filter.getOrigin().toLowerCase() + "%"));
-        }
-        
-        // Filter by destination
-        if (filter.getDestination() != null && !filter.getDestination().trim().isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("destinationAddress")), 
-                    "%" + filter.getDestination().toLowerCase() + "%"));
-        }
-        
-        // Filter by date range
-        if (filter.getStartDate() != null) {
-            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getStartDate()));
-        }
+        ShipmentFilter shipmentFilter = ShipmentFilter.from(filter);
+        ShipmentFilterPlans.Plan plan = filterPlans.plan(shipmentFilter, pageable.getSortOr(DEFAULT_SORT));
         
-        if (filter.getEndDate() != null) {
-            predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), filter.getEndDate()));
+        TypedQuery<ShipmentDto> query = entityManager.createQuery(plan.query(), ShipmentDto.class);
+        shipmentFilter.bind(query);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
         }
+        List<ShipmentDto> shipments = query.getResultList();
         
-        // Filter by status
-        if (filter.getStatus() != null && !filter.getStatus().trim().isEmpty()) {
-            try {
-                Shipment.ShipmentStatus status = Shipment.ShipmentStatus.valueOf(filter.getStatus().toUpperCase());
-                predicates.add(cb.equal(root.get("status"), status));
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid status filter: {}", filter.getStatus());
-            }
-        }
+        log.info("Filter returned {} shipments", shipments.size());
         
-        // Filter by priority
-        if (filter.getPriority() != null && !filter.getPriority().trim().isEmpty()) {
-            try {
-                Shipment.Priority priority = Shipment.Priority.valueOf(filter.getPriority().toUpperCase());
-                predicates.add(cb.equal(root.get("priority"), priority));
-            } catch (IllegalArgumentException e) {
-                log.warn("Invalid priority filter: {}", filter.getPriority());
+        return PageableExecutionUtils.getPage(shipments, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery(plan.countQuery(), Long.class);
+            shipmentFilter.bind(countQuery);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    /**
+     * Filter shipments and hand each match to {@code sink} while the result set is read.
+     * Rows are fetched in batches of {@value #STREAM_FETCH_SIZE} and projected straight into
+     * DTOs, so memory stays flat regardless of the result size.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public void streamFilterTransports(TransportFilterRequestDto filter, Consumer<ShipmentDto> sink) {
+        log.debug("Streaming transports with criteria: {}", filter);
+        
+        ShipmentFilter shipmentFilter = ShipmentFilter.from(filter);
+        ShipmentFilterPlans.Plan plan = filterPlans.plan(shipmentFilter, DEFAULT_SORT);
+        
+        TypedQuery<ShipmentDto> query = entityManager.createQuery(plan.query(), ShipmentDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+        shipmentFilter.bind(query);
+        
+        long count = 0;
+        try (Stream<ShipmentDto> shipments = query.getResultStream()) {
+            Iterator<ShipmentDto> iterator = shipments.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
             }
         }
         
-        // Filter by driver ID
-        if (filter.getDriverId() != null) {
-            predicates.add(cb.equal(root.get("driverId"), filter.getDriverId()));
-        }
-        
-        // Filter by tracking number
-        if (filter.getTrackingNumber() != null && !filter.getTrackingNumber().trim().isEmpty()) {
-            predicates.add(cb.like(cb.lower(root.get("trackingNumber")), 
-                    "%" + filter.getTrackingNumber().toLowerCase() + "%"));
-        }
-        
-        // Apply all predicates
-        if (!predicates.isEmpty()) {
-            query.where(cb.and(predicates.toArray(new Predicate[0])));
-        }
-        
-        // Order by creation date descending
-        query.orderBy(cb.desc(root.get("createdAt")));
-        
-        TypedQuery<Shipment> typedQuery = entityManager.createQuery(query);
-        List<Shipment> shipments = typedQuery.getResultList();
-        
-        log.info("Filter returned {} shipments", shipments.size());
-        
-        return shipments.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        log.info("Filter streamed {} shipments", count);
     }
 
     /**
@@ -122,8 +104,7 @@ public class TransportFilterService {
         // For now, use the existing search method from ShipmentService
         // This can be enhanced with more complex criteria
         String searchTerm = buildSearchTerm(filter);
-        return shipmentRepository.findBySearchTerm(searchTerm, pageable)
-                .map(this::convertToDto);
+        return shipmentReadRepository.findDtosBySearchTerm(searchTerm, pageable);
     }
 
     private String buildSearchTerm(TransportFilterRequestDto filter) {
@@ -135,29 +116,4 @@ public class TransportFilterService {
         
         return searchTerm.toString().trim();
     }
-
-    private ShipmentDto convertToDto(Shipment shipment) {
-        ShipmentDto dto = new ShipmentDto();
-        dto.setId(shipment.getId());
-        dto.setTrackingNumber(shipment.getTrackingNumber());
-        dto.setSenderId(shipment.getSenderId());
-        dto.setReceiverId(shipment.getReceiverId());
-        dto.setOriginAddress(shipment.getOriginAddress());
-        dto.setDestinationAddress(shipment.getDestinationAddress());
-        dto.setWeightKg(shipment.getWeightKg());
-        dto.setVolumeM3(shipment.getVolumeM3());
-        dto.setDeclaredValue(shipment.getDeclaredValue());
-        dto.setStatus(shipment.getStatus());
-        dto.setPriority(shipment.getPriority());
-        dto.setVehicleId(shipment.getVehicleId());
-        dto.setDriverId(shipment.getDriverId());
-        dto.setPickupDate(shipment.getPickupDate());
-        dto.setDeliveryDate(shipment.getDeliveryDate());
-        dto.setEstimatedDelivery(shipment.getEstimatedDelivery());
-        dto.setShippingCost(shipment.getShippingCost());
-        dto.setNotes(shipment.getNotes());
-        dto.setCreatedAt(shipment.getCreatedAt());
-        dto.setUpdatedAt(shipment.getUpdatedAt());
-        return dto;
-    }
 }
\ No newline at end of file
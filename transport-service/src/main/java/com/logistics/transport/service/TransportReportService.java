@@ -1,10 +1,11 @@
 package com.logistics.transport.service;
 
+import com.logistics.transport.dto.StatusCountsDto;
 import com.logistics.transport.dto.TransportReportDto;
 import com.logistics.transport.entity.Shipment;
 import com.logistics.transport.entity.Vehicle;
 import com.logistics.transport.repository.ShipmentRepository;
-import com.logistics.transport.repository.VehicleRepository;
+import com.logistics.transport.service.overdue.OverdueShipmentTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,7 +31,8 @@ import java.util.stream.Collectors;
 public class TransportReportService {
 
     private final ShipmentRepository shipmentRepository;
-    private final VehicleRepository vehicleRepository;
+    private final StatusCounters statusCounters;
+    private final OverdueShipmentTracker overdueShipmentTracker;
 
     /**
      * Generate comprehensive transport report for a date range.
@@ -95,6 +97,17 @@ public class TransportReportService {
         return report;
     }
 
+    /**
+     * Get live shipment and vehicle counts per status.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public StatusCountsDto getStatusCounts() {
+        Map<Shipment.ShipmentStatus, Long> shipments = statusCounters.shipmentCounts();
+        Map<Vehicle.VehicleStatus, Long> vehicles = statusCounters.vehicleCounts();
+        return new StatusCountsDto(shipments, sum(shipments), vehicles, sum(vehicles),
+                statusCounters.getLastReconciledAt());
+    }
+
     private void calculateShipmentStatistics(TransportReportDto report, List<Shipment> shipments) {
         report.setTotalShipments((long) shipments.size());
         
@@ -116,11 +129,8 @@ public class TransportReportService {
     }
 
     private void calculateVehicleStatistics(TransportReportDto report) {
-        List<Vehicle> allVehicles = vehicleRepository.findAll();
-        report.setTotalVehicles((long) allVehicles.size());
-        
-        Map<Vehicle.VehicleStatus, Long> vehicleStatusCounts = allVehicles.stream()
-                .collect(Collectors.groupingBy(Vehicle::getStatus, Collectors.counting()));
+        Map<Vehicle.VehicleStatus, Long> vehicleStatusCounts = statusCounters.vehicleCounts();
+        report.setTotalVehicles(sum(vehicleStatusCounts));
         
         report.setAvailableVehicles(vehicleStatusCounts.getOrDefault(Vehicle.VehicleStatus.AVAILABLE, 0L));
         report.setInTransitVehicles(vehicleStatusCounts.getOrDefault(Vehicle.VehicleStatus.IN_TRANSIT, 0L));
@@ -185,7 +195,9 @@ public class TransportReportService {
         }
         
         // Count overdue shipments
-        long overdueCount = shipmentRepository.findOverdueShipments(LocalDateTime.now()).size();
+        long overdueCount = overdueShipmentTracker.isReady()
+                ? overdueShipmentTracker.overdueCount()
+                : shipmentRepository.findOverdueShipments(LocalDateTime.now()).size();
         report.setOverdueShipments(overdueCount);
     }
 
@@ -210,4 +222,8 @@ public class TransportReportService {
         
         report.setPopularRoutes(topRoutes);
     }
-}
\ No newline at end of file
+
+    private static long sum(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
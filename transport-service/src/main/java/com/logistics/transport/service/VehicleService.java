@@ -1,20 +1,31 @@
 package com.logistics.transport.service;
 
+import com.logistics.common.dto.MultiGetResult;
 import com.logistics.common.exception.BusinessException;
 import com.logistics.common.exception.ResourceNotFoundException;
+import com.logistics.common.web.EntityFreshness;
 import com.logistics.transport.dto.CreateVehicleRequest;
 import com.logistics.transport.dto.VehicleDto;
+import com.logistics.transport.entity.SyncChange;
 import com.logistics.transport.entity.Vehicle;
+import com.logistics.transport.repository.VehicleReadRepository;
 import com.logistics.transport.repository.VehicleRepository;
+import com.logistics.transport.service.sync.SyncChangeRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,24 +34,67 @@ import java.util.stream.Collectors;
 @Transactional
 public class VehicleService {
 
+    private static final int MAX_MULTI_GET = 500;
+
     private final VehicleRepository vehicleRepository;
+    private final VehicleReadRepository vehicleReadRepository;
+    private final TrackingProjectionService trackingProjectionService;
+    private final StatusCounters statusCounters;
+    private final OptimisticRetry optimisticRetry;
+    private final SyncChangeRecorder syncChangeRecorder;
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
     public Page<VehicleDto> getAllVehicles(Pageable pageable) {
-        return vehicleRepository.findAll(pageable)
-                .map(this::convertToDto);
+        return vehicleReadRepository.findAllDtos(pageable);
     }
 
+    @Transactional(readOnly = true)
     public VehicleDto getVehicleById(Long id) {
-        Vehicle vehicle = vehicleRepository.findById(id)
+        return vehicleReadRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
-        return convertToDto(vehicle);
     }
 
+    /**
+     * Several vehicles by id with one IN query. Items follow the requested order.
+     */
+    @Transactional(readOnly = true)
+    public MultiGetResult<Long, VehicleDto> getVehiclesByIds(List<Long> ids) {
+        if (ids.size() > MAX_MULTI_GET) {
+            throw new BusinessException("At most " + MAX_MULTI_GET + " vehicles can be requested at once");
+        }
+        return MultiGetResult.of(ids, findVehiclesByIds(ids));
+    }
+
+    /**
+     * Vehicles by id keyed by id, without the multi-get size limit; for batch loaders
+     * whose key sets are already bounded by the enclosing query.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, VehicleDto> findVehiclesByIds(Collection<Long> ids) {
+        return vehicleReadRepository.findDtosByIds(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(VehicleDto::getId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
     public VehicleDto getVehicleByLicensePlate(String licensePlate) {
-        Vehicle vehicle = vehicleRepository.findByLicensePlate(licensePlate)
+        return vehicleReadRepository.findDtoByLicensePlate(licensePlate)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with license plate: " + licensePlate));
+    }
+
+    /**
+     * Conditional GET validators of a vehicle, read without loading the row.
+     */
+    @Transactional(readOnly = true)
+    public EntityFreshness getVehicleFreshness(Long id) {
+        return vehicleReadRepository.findFreshnessById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public EntityFreshness getVehicleFreshnessByLicensePlate(String licensePlate) {
+        return vehicleReadRepository.findFreshnessByLicensePlate(licensePlate)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with license plate: " + licensePlate));
-        return convertToDto(vehicle);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
@@ -66,101 +120,139 @@ public class VehicleService {
         vehicle.setInsuranceExpiry(request.getInsuranceExpiry());
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        statusCounters.vehicleTransition(null, savedVehicle.getStatus());
+        syncChangeRecorder.changed(SyncChange.EntityType.VEHICLE, savedVehicle.getId(), null, savedVehicle.getDriverId());
         log.info("Vehicle created: {}", savedVehicle.getLicensePlate());
         
         return convertToDto(savedVehicle);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public VehicleDto updateVehicle(Long id, CreateVehicleRequest request) {
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
+        return optimisticRetry.execute("vehicle.update", () -> {
+            Vehicle vehicle = findVehicle(id);
+            Vehicle.VehicleStatus previousStatus = vehicle.getStatus();
+            Long previousDriverId = vehicle.getDriverId();
 
-        // Check license plate uniqueness if changed
-        if (!vehicle.getLicensePlate().equals(request.getLicensePlate()) && 
-            vehicleRepository.existsByLicensePlate(request.getLicensePlate())) {
-            throw new BusinessException("Vehicle with license plate already exists: " + request.getLicensePlate());
-        }
+            // Check license plate uniqueness if changed
+            boolean plateChanged = !vehicle.getLicensePlate().equals(request.getLicensePlate());
+            if (plateChanged && vehicleRepository.existsByLicensePlate(request.getLicensePlate())) {
+                throw new BusinessException("Vehicle with license plate already exists: " + request.getLicensePlate());
+            }
 
-        vehicle.setLicensePlate(request.getLicensePlate());
-        vehicle.setVehicleType(request.getVehicleType());
-        vehicle.setBrand(request.getBrand());
-        vehicle.setModel(request.getModel());
-        vehicle.setYear(request.getYear());
-        vehicle.setCapacityKg(request.getCapacityKg());
-        vehicle.setCapacityM3(request.getCapacityM3());
-        if (request.getStatus() != null) vehicle.setStatus(request.getStatus());
-        vehicle.setDriverId(request.getDriverId());
-        vehicle.setCurrentLocation(request.getCurrentLocation());
-        vehicle.setFuelType(request.getFuelType());
-        vehicle.setFuelConsumption(request.getFuelConsumption());
-        vehicle.setMaintenanceDate(request.getMaintenanceDate());
-        vehicle.setInsuranceExpiry(request.getInsuranceExpiry());
+            vehicle.setLicensePlate(request.getLicensePlate());
+            vehicle.setVehicleType(request.getVehicleType());
+            vehicle.setBrand(request.getBrand());
+            vehicle.setModel(request.getModel());
+            vehicle.setYear(request.getYear());
+            vehicle.setCapacityKg(request.getCapacityKg());
+            vehicle.setCapacityM3(request.getCapacityM3());
+            if (request.getStatus() != null) vehicle.setStatus(request.getStatus());
+            vehicle.setDriverId(request.getDriverId());
+            vehicle.setCurrentLocation(request.getCurrentLocation());
+            vehicle.setFuelType(request.getFuelType());
+            vehicle.setFuelConsumption(request.getFuelConsumption());
+            vehicle.setMaintenanceDate(request.getMaintenanceDate());
+            vehicle.setInsuranceExpiry(request.getInsuranceExpiry());
 
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
-        log.info("Vehicle updated: {}", updatedVehicle.getLicensePlate());
-        
-        return convertToDto(updatedVehicle);
+            Vehicle updatedVehicle = vehicleRepository.saveAndFlush(vehicle);
+            statusCounters.vehicleTransition(previousStatus, updatedVehicle.getStatus());
+            syncChangeRecorder.changed(SyncChange.EntityType.VEHICLE, updatedVehicle.getId(), previousDriverId, updatedVehicle.getDriverId());
+            if (plateChanged) {
+                trackingProjectionService.onVehiclePlateChanged(updatedVehicle.getId(), updatedVehicle.getLicensePlate());
+            }
+            log.info("Vehicle updated: {}", updatedVehicle.getLicensePlate());
+
+            return convertToDto(updatedVehicle);
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteVehicle(Long id) {
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
-        
-        if (vehicle.getStatus() == Vehicle.VehicleStatus.IN_TRANSIT) {
-            throw new BusinessException("Cannot delete vehicle that is in transit");
-        }
-        
-        vehicleRepository.delete(vehicle);
-        log.info("Vehicle deleted: {}", vehicle.getLicensePlate());
+        optimisticRetry.execute("vehicle.delete", () -> {
+            Vehicle vehicle = findVehicle(id);
+
+            if (vehicle.getStatus() == Vehicle.VehicleStatus.IN_TRANSIT) {
+                throw new BusinessException("Cannot delete vehicle that is in transit");
+            }
+
+            vehicleRepository.delete(vehicle);
+            vehicleRepository.flush();
+            statusCounters.vehicleTransition(vehicle.getStatus(), null);
+            syncChangeRecorder.deleted(SyncChange.EntityType.VEHICLE, vehicle.getId(), vehicle.getDriverId());
+            log.info("Vehicle deleted: {}", vehicle.getLicensePlate());
+            return null;
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
     public Page<VehicleDto> getVehiclesByStatus(Vehicle.VehicleStatus status, Pageable pageable) {
-        return vehicleRepository.findByStatus(status, pageable)
-                .map(this::convertToDto);
+        return vehicleReadRepository.findDtosByStatus(status, pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
     public Page<VehicleDto> searchVehicles(String searchTerm, Pageable pageable) {
-        return vehicleRepository.findBySearchTerm(searchTerm, pageable)
-                .map(this::convertToDto);
+        return vehicleReadRepository.findDtosBySearchTerm(searchTerm, pageable);
     }
 
+    /**
+     * Change the status with a single conditional update on id and version, retried against
+     * the latest row when another writer got there first.
+     */
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public VehicleDto updateVehicleStatus(Long id, Vehicle.VehicleStatus status) {
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
-        
-        vehicle.setStatus(status);
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
-        
-        log.info("Vehicle status updated: {} -> {}", updatedVehicle.getLicensePlate(), status);
-        
-        return convertToDto(updatedVehicle);
+        return optimisticRetry.execute("vehicle.status", () -> {
+            Vehicle vehicle = findVehicle(id);
+            Vehicle.VehicleStatus previousStatus = vehicle.getStatus();
+            LocalDateTime now = LocalDateTime.now();
+
+            OptimisticRetry.requireUpdated(
+                    vehicleRepository.updateStatusIfVersion(id, vehicle.getVersion(), status, now),
+                    "Vehicle", id);
+            vehicle.setStatus(status);
+            vehicle.setUpdatedAt(now);
+            vehicle.setVersion(vehicle.getVersion() + 1);
+            statusCounters.vehicleTransition(previousStatus, status);
+            syncChangeRecorder.changed(SyncChange.EntityType.VEHICLE, id, vehicle.getDriverId(), vehicle.getDriverId());
+
+            log.info("Vehicle status updated: {} -> {}", vehicle.getLicensePlate(), status);
+
+            return convertToDto(vehicle);
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
     public List<VehicleDto> getAvailableVehicles() {
-        List<Vehicle> availableVehicles = vehicleRepository.findAvailableVehiclesWithDrivers();
-        return availableVehicles.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return vehicleReadRepository.findAvailableDtosWithDrivers();
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public VehicleDto assignDriver(Long vehicleId, Long driverId) {
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
-        
-        vehicle.setDriverId(driverId);
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
-        
-        log.info("Driver assigned to vehicle: {} -> Driver ID: {}", 
-                updatedVehicle.getLicensePlate(), driverId);
-        
-        return convertToDto(updatedVehicle);
+        return optimisticRetry.execute("vehicle.assign-driver", () -> {
+            Vehicle vehicle = findVehicle(vehicleId);
+            Long previousDriverId = vehicle.getDriverId();
+
+            vehicle.setDriverId(driverId);
+            Vehicle updatedVehicle = vehicleRepository.saveAndFlush(vehicle);
+            syncChangeRecorder.changed(SyncChange.EntityType.VEHICLE, vehicleId, previousDriverId, driverId);
+
+            log.info("Driver assigned to vehicle: {} -> Driver ID: {}",
+                    updatedVehicle.getLicensePlate(), driverId);
+
+            return convertToDto(updatedVehicle);
+        });
+    }
+
+    private Vehicle findVehicle(Long id) {
+        return vehicleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + id));
     }
 
     private VehicleDto convertToDto(Vehicle vehicle) {
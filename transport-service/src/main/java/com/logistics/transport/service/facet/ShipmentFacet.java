@@ -0,0 +1,12 @@
+package com.logistics.transport.service.facet;
+
+/**
+ * Shipment attributes kept in the {@link ShipmentFacetIndex}.
+ */
+public enum ShipmentFacet {
+    STATUS,
+    PRIORITY,
+    DRIVER,
+    VEHICLE,
+    CREATED_DAY
+}
@@ -0,0 +1,321 @@
+package com.logistics.transport.service.facet;
+
+import com.logistics.transport.entity.Shipment;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory secondary index over shipments: one compressed (Roaring) bitmap of
+ * shipment ids per facet value. Filters are answered by OR-ing the bitmaps of the
+ * requested values within a facet and AND-ing across facets; counts are bitmap
+ * cardinalities, so no SQL is involved.
+ *
+ * The index is loaded by a single streaming scan once the application is ready and
+ * then maintained incrementally: shipment writes register a change that is applied
+ * after their transaction commits. Writes committed while a rebuild is scanning are
+ * replayed onto the rebuilt index before it is swapped in. Every shipment's row version
+ * is kept, so a change applied out of commit order never replaces a newer one. Writes
+ * made on other instances are only seen by the rebuild that runs every
+ * {@code facets.rebuild-interval}.
+ *
+ * Shipment ids are sequence-allocated and used directly as 32-bit bitmap positions.
+ */
+@Component
+@Slf4j
+public class ShipmentFacetIndex {
+
+    private static final String SCAN_QUERY = "SELECT new com.logistics.transport.service.facet.ShipmentFacetValues(" +
+            "s.id, s.status, s.priority, s.driverId, s.vehicleId, s.createdAt, s.version) FROM Shipment s";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Postings postings = new Postings();
+    private List<Consumer<Postings>> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public ShipmentFacetIndex(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Shipment facet index could not be loaded; facet queries stay unavailable", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${facets.rebuild-interval:PT5M}",
+            initialDelayString = "${facets.rebuild-interval:PT5M}")
+    public void rebuildPeriodically() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Shipment facet index rebuild failed; the current index stays in use", e);
+        }
+    }
+
+    /**
+     * Reload the whole index from the shipments table in one streaming scan.
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        withWriteLock(() -> pendingDuringRebuild = new ArrayList<>());
+
+        Postings rebuilt = new Postings();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ShipmentFacetValues> rows = entityManager.createQuery(SCAN_QUERY, ShipmentFacetValues.class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, SCAN_FETCH_SIZE)
+                        .getResultStream()) {
+                    rows.forEach(rebuilt::put);
+                }
+            });
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingDuringRebuild = null);
+            throw e;
+        }
+
+        rebuilt.optimize();
+        withWriteLock(() -> {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            postings = rebuilt;
+            ready = true;
+        });
+        log.info("Shipment facet index loaded: {} shipments in {} ms",
+                rebuilt.all.getLongCardinality(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * (Re)index a created or updated shipment once the current transaction commits.
+     * Values are captured now, so later changes to the entity do not leak in.
+     */
+    public void indexAfterCommit(Shipment shipment) {
+        ShipmentFacetValues values = ShipmentFacetValues.of(shipment);
+        afterCommit(() -> apply(index -> index.put(values)));
+    }
+
+    /**
+     * Remove a deleted shipment once the current transaction commits.
+     */
+    public void removeAfterCommit(Long shipmentId) {
+        afterCommit(() -> apply(index -> index.remove(shipmentId)));
+    }
+
+    /**
+     * Ids of the shipments matching all given facets, where each facet matches any of its values.
+     * Facets without values are ignored; no facets at all selects every shipment.
+     * The returned bitmap is a private copy.
+     */
+    public RoaringBitmap select(Map<ShipmentFacet, ? extends Collection<?>> criteria) {
+        return withReadLock(() -> postings.select(criteria));
+    }
+
+    public long count(Map<ShipmentFacet, ? extends Collection<?>> criteria) {
+        return select(criteria).getLongCardinality();
+    }
+
+    /**
+     * Number of shipments in {@code selection} per value of {@code facet}. Values with no
+     * matching shipment are left out.
+     */
+    public Map<Object, Long> facetCounts(ShipmentFacet facet, RoaringBitmap selection) {
+        return withReadLock(() -> {
+            Map<Object, Long> counts = new LinkedHashMap<>();
+            postings.byFacet.get(facet).forEach((value, bitmap) -> {
+                long count = RoaringBitmap.andCardinality(selection, bitmap);
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+            return counts;
+        });
+    }
+
+    /**
+     * The values currently present for {@code facet}.
+     */
+    public List<Object> values(ShipmentFacet facet) {
+        return withReadLock(() -> new ArrayList<>(postings.byFacet.get(facet).keySet()));
+    }
+
+    private void apply(Consumer<Postings> change) {
+        withWriteLock(() -> {
+            change.accept(postings);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T withReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int docId(Long shipmentId) {
+        if (shipmentId == null || shipmentId < 0 || shipmentId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Shipment id outside the facet index range: " + shipmentId);
+        }
+        return shipmentId.intValue();
+    }
+
+    /**
+     * The bitmaps themselves. Not thread-safe; guarded by the index lock.
+     */
+    private static final class Postings {
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<ShipmentFacet, Map<Object, RoaringBitmap>> byFacet = new EnumMap<>(ShipmentFacet.class);
+        // Last applied row version per shipment; deleted shipments keep Long.MAX_VALUE
+        private final Map<Integer, Long> versions = new HashMap<>();
+
+        private Postings() {
+            for (ShipmentFacet facet : ShipmentFacet.values()) {
+                byFacet.put(facet, new HashMap<>());
+            }
+        }
+
+        void put(ShipmentFacetValues values) {
+            int id = docId(values.id());
+            Long applied = versions.get(id);
+            if (applied != null && applied > values.version()) {
+                return;
+            }
+            versions.put(id, values.version());
+            boolean known = all.contains(id);
+            all.add(id);
+            for (ShipmentFacet facet : ShipmentFacet.values()) {
+                Object value = values.value(facet);
+                Map<Object, RoaringBitmap> facetPostings = byFacet.get(facet);
+                RoaringBitmap current = value != null ? facetPostings.get(value) : null;
+                if (current != null && current.contains(id)) {
+                    continue;
+                }
+                if (known) {
+                    removeFrom(facetPostings, id);
+                }
+                if (value != null) {
+                    facetPostings.computeIfAbsent(value, key -> new RoaringBitmap()).add(id);
+                }
+            }
+        }
+
+        void remove(Long shipmentId) {
+            int id = docId(shipmentId);
+            versions.put(id, Long.MAX_VALUE);
+            if (!all.checkedRemove(id)) {
+                return;
+            }
+            for (Map<Object, RoaringBitmap> facetPostings : byFacet.values()) {
+                removeFrom(facetPostings, id);
+            }
+        }
+
+        RoaringBitmap select(Map<ShipmentFacet, ? extends Collection<?>> criteria) {
+            RoaringBitmap result = null;
+            for (Map.Entry<ShipmentFacet, ? extends Collection<?>> criterion : criteria.entrySet()) {
+                if (criterion.getValue() == null || criterion.getValue().isEmpty()) {
+                    continue;
+                }
+                Map<Object, RoaringBitmap> facetPostings = byFacet.get(criterion.getKey());
+                RoaringBitmap union = new RoaringBitmap();
+                for (Object value : criterion.getValue()) {
+                    RoaringBitmap bitmap = facetPostings.get(value);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                if (result == null) {
+                    result = union;
+                } else {
+                    result.and(union);
+                }
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+            return result != null ? result : all.clone();
+        }
+
+        void optimize() {
+            all.runOptimize();
+            byFacet.values().forEach(facetPostings -> facetPostings.values().forEach(RoaringBitmap::runOptimize));
+        }
+
+        // A shipment has at most one value per facet
+        private static void removeFrom(Map<Object, RoaringBitmap> facetPostings, int id) {
+            Iterator<RoaringBitmap> bitmaps = facetPostings.values().iterator();
+            while (bitmaps.hasNext()) {
+                RoaringBitmap bitmap = bitmaps.next();
+                if (bitmap.checkedRemove(id)) {
+                    if (bitmap.isEmpty()) {
+                        bitmaps.remove();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
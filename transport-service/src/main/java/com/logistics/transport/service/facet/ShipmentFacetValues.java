@@ -0,0 +1,43 @@
+package com.logistics.transport.service.facet;
+
+import com.logistics.transport.entity.Shipment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The facet values of one shipment, as indexed by {@link ShipmentFacetIndex}, with the row
+ * version they were read at.
+ */
+public record ShipmentFacetValues(Long id,
+                                  Shipment.ShipmentStatus status,
+                                  Shipment.Priority priority,
+                                  Long driverId,
+                                  Long vehicleId,
+                                  LocalDate createdDay,
+                                  long version) {
+
+    /**
+     * Constructor used by the JPQL scan, which selects the creation timestamp.
+     */
+    public ShipmentFacetValues(Long id, Shipment.ShipmentStatus status, Shipment.Priority priority,
+                               Long driverId, Long vehicleId, LocalDateTime createdAt, Long version) {
+        this(id, status, priority, driverId, vehicleId, createdAt != null ? createdAt.toLocalDate() : null,
+                version != null ? version : 0);
+    }
+
+    public static ShipmentFacetValues of(Shipment shipment) {
+        return new ShipmentFacetValues(shipment.getId(), shipment.getStatus(), shipment.getPriority(),
+                shipment.getDriverId(), shipment.getVehicleId(), shipment.getCreatedAt(), shipment.getVersion());
+    }
+
+    public Object value(ShipmentFacet facet) {
+        return switch (facet) {
+            case STATUS -> status;
+            case PRIORITY -> priority;
+            case DRIVER -> driverId;
+            case VEHICLE -> vehicleId;
+            case CREATED_DAY -> createdDay;
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.logistics.transport.service.filter;
+
+import com.logistics.transport.dto.TransportFilterRequestDto;
+import com.logistics.transport.entity.Shipment;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Normalized shipment filter. Each criterion maps to one index-friendly operator:
+ * exact match on tracking number, status, priority and driver, a range on creation
+ * date, and a case-insensitive prefix match on the addresses.
+ * The set of present criteria is the filter's {@link #shape()}, which decides the query text.
+ */
+@Slf4j
+public final class ShipmentFilter {
+
+    static final int ORIGIN = 1;
+    static final int DESTINATION = 1 << 1;
+    static final int START_DATE = 1 << 2;
+    static final int END_DATE = 1 << 3;
+    static final int STATUS = 1 << 4;
+    static final int PRIORITY = 1 << 5;
+    static final int DRIVER = 1 << 6;
+    static final int TRACKING_NUMBER = 1 << 7;
+
+    static final char LIKE_ESCAPE = '!';
+
+    private final String originPrefix;
+    private final String destinationPrefix;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final Shipment.ShipmentStatus status;
+    private final Shipment.Priority priority;
+    private final Long driverId;
+    private final String trackingNumber;
+    private final int shape;
+
+    private ShipmentFilter(TransportFilterRequestDto request) {
+        this.originPrefix = prefixPattern(request.getOrigin());
+        this.destinationPrefix = prefixPattern(request.getDestination());
+        this.startDate = request.getStartDate();
+        this.endDate = request.getEndDate();
+        this.status = parseStatus(request.getStatus());
+        this.priority = parsePriority(request.getPriority());
+        this.driverId = request.getDriverId();
+        this.trackingNumber = hasText(request.getTrackingNumber())
+                ? request.getTrackingNumber().trim().toUpperCase(Locale.ROOT)
+                : null;
+
+        int bits = 0;
+        if (originPrefix != null) bits |= ORIGIN;
+        if (destinationPrefix != null) bits |= DESTINATION;
+        if (startDate != null) bits |= START_DATE;
+        if (endDate != null) bits |= END_DATE;
+        if (status != null) bits |= STATUS;
+        if (priority != null) bits |= PRIORITY;
+        if (driverId != null) bits |= DRIVER;
+        if (trackingNumber != null) bits |= TRACKING_NUMBER;
+        this.shape = bits;
+    }
+
+    public static ShipmentFilter from(TransportFilterRequestDto request) {
+        return new ShipmentFilter(request);
+    }
+
+    /**
+     * Bit set of the criteria present in this filter.
+     */
+    public int shape() {
+        return shape;
+    }
+
+    /**
+     * Bind this filter's values to a query compiled for its shape.
+     */
+    public void bind(Query query) {
+        if (originPrefix != null) query.setParameter("origin", originPrefix);
+        if (destinationPrefix != null) query.setParameter("destination", destinationPrefix);
+        if (startDate != null) query.setParameter("startDate", startDate);
+        if (endDate != null) query.setParameter("endDate", endDate);
+        if (status != null) query.setParameter("status", status);
+        if (priority != null) query.setParameter("priority", priority);
+        if (driverId != null) query.setParameter("driverId", driverId);
+        if (trackingNumber != null) query.setParameter("trackingNumber", trackingNumber);
+    }
+
+    private static String prefixPattern(String value) {
+        if (!hasText(value)) {
+            return null;
+        }
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escaped + "%";
+    }
+
+    private static Shipment.ShipmentStatus parseStatus(String value) {
+        if (!hasText(value)) {
+            return null;
+        }
+        try {
+            return Shipment.ShipmentStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid status filter: {}", value);
+            return null;
+        }
+    }
+
+    private static Shipment.Priority parsePriority(String value) {
+        if (!hasText(value)) {
+            return null;
+        }
+        try {
+            return Shipment.Priority.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid priority filter: {}", value);
+            return null;
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package com.logistics.transport.service.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logistics.common.exception.BusinessException;
+import com.logistics.transport.repository.ShipmentReadRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compiles shipment filters into JPQL, once per filter shape and sort.
+ * Reusing the exact query text also lets Hibernate reuse its parsed and
+ * translated plan from the query plan cache instead of re-interpreting a
+ * fresh Criteria tree on every request. Plans are keyed by the normalized
+ * ORDER BY clause (repeated properties dropped, at most
+ * {@value #MAX_SORT_ORDERS} orders) and the cache is size-bounded, so
+ * client-chosen sorts cannot grow it without limit.
+ */
+@Component
+public class ShipmentFilterPlans {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "id", "trackingNumber", "status", "priority", "pickupDate", "deliveryDate",
+            "estimatedDelivery", "shippingCost", "createdAt", "updatedAt");
+
+    private static final int MAX_SORT_ORDERS = 3;
+    private static final int MAX_PLANS = 1_000;
+
+    private final Cache<PlanKey, Plan> plans = Caffeine.newBuilder()
+            .maximumSize(MAX_PLANS)
+            .build();
+
+    /**
+     * A compiled filter: the DTO select and its matching count query.
+     */
+    public record Plan(String query, String countQuery) {
+    }
+
+    private record PlanKey(int shape, String orderBy) {
+    }
+
+    public Plan plan(ShipmentFilter filter, Sort sort) {
+        return plans.get(new PlanKey(filter.shape(), orderByClause(sort)), key -> compile(key.shape(), key.orderBy()));
+    }
+
+    private Plan compile(int shape, String orderBy) {
+        String where = whereClause(shape);
+        return new Plan(
+                ShipmentReadRepository.SELECT_DTO + where + orderBy,
+                "SELECT COUNT(s) FROM Shipment s" + where);
+    }
+
+    private String whereClause(int shape) {
+        StringBuilder where = new StringBuilder();
+        appendIf(where, shape, ShipmentFilter.TRACKING_NUMBER, "s.trackingNumber = :trackingNumber");
+        appendIf(where, shape, ShipmentFilter.STATUS, "s.status = :status");
+        appendIf(where, shape, ShipmentFilter.PRIORITY, "s.priority = :priority");
+        appendIf(where, shape, ShipmentFilter.DRIVER, "s.driverId = :driverId");
+        appendIf(where, shape, ShipmentFilter.START_DATE, "s.createdAt >= :startDate");
+        appendIf(where, shape, ShipmentFilter.END_DATE, "s.createdAt <= :endDate");
+        appendIf(where, shape, ShipmentFilter.ORIGIN,
+                "LOWER(s.originAddress) LIKE :origin ESCAPE '" + ShipmentFilter.LIKE_ESCAPE + "'");
+        appendIf(where, shape, ShipmentFilter.DESTINATION,
+                "LOWER(s.destinationAddress) LIKE :destination ESCAPE '" + ShipmentFilter.LIKE_ESCAPE + "'");
+        return where.toString();
+    }
+
+    private void appendIf(StringBuilder where, int shape, int criterion, String predicate) {
+        if ((shape & criterion) == 0) {
+            return;
+        }
+        where.append(where.length() == 0 ? " WHERE " : " AND ").append(predicate);
+    }
+
+    private String orderByClause(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        Set<String> seen = new HashSet<>();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new BusinessException("Unsupported sort property: " + order.getProperty());
+            }
+            // A repeated property cannot change the order, the first occurrence decides
+            if (!seen.add(order.getProperty())) {
+                continue;
+            }
+            if (seen.size() > MAX_SORT_ORDERS) {
+                throw new BusinessException("At most " + MAX_SORT_ORDERS + " sort properties are supported");
+            }
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ")
+                    .append("s.").append(order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+        }
+        if (!seen.contains("id")) {
+            // Tie-break on id so pages are stable
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ").append("s.id DESC");
+        }
+        return orderBy.toString();
+    }
+}
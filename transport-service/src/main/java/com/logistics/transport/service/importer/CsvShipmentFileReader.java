@@ -0,0 +1,96 @@
+package com.logistics.transport.service.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 style CSV reader: comma separated, double-quoted fields with
+ * {@code ""} escapes and line breaks allowed inside quotes.
+ */
+public class CsvShipmentFileReader implements ShipmentFileReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    @Override
+    public void read(Path file, ShipmentRowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> headers = null;
+            long rowNumber = 0;
+            List<String> record;
+            while ((record = readRecord(reader)) != null) {
+                rowNumber++;
+                if (headers == null) {
+                    headers = new ArrayList<>(record.size());
+                    for (String header : record) {
+                        headers.add(ShipmentRowMapper.normalizeHeader(header));
+                    }
+                    continue;
+                }
+                if (isBlank(record)) {
+                    continue;
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < headers.size() && i < record.size(); i++) {
+                    values.put(headers.get(i), record.get(i));
+                }
+                handler.handleRow(rowNumber, values);
+            }
+        }
+    }
+
+    private List<String> readRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (c != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == QUOTE) {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == QUOTE) {
+                quoted = true;
+            } else if (ch == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r' && ch != '\uFEFF') {
+                field.append(ch);
+            }
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private boolean isBlank(List<String> record) {
+        return record.stream().allMatch(value -> value.trim().isEmpty());
+    }
+}
@@ -0,0 +1,14 @@
+package com.logistics.transport.service.importer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Streams the rows of an uploaded shipment file without loading it into memory.
+ * The first row is treated as the header; every following non-empty row is
+ * pushed to the handler as soon as it has been parsed.
+ */
+public interface ShipmentFileReader {
+
+    void read(Path file, ShipmentRowHandler handler) throws IOException;
+}
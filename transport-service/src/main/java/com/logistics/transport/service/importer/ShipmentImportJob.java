@@ -0,0 +1,108 @@
+package com.logistics.transport.service.importer;
+
+import com.logistics.transport.dto.ShipmentImportErrorDto;
+import com.logistics.transport.dto.ShipmentImportStatusDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable progress of a running bulk import. Counters are updated by the
+ * import worker and read concurrently by status requests.
+ */
+public class ShipmentImportJob {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String jobId;
+    private final String fileName;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final AtomicInteger reportedErrors = new AtomicInteger();
+    private final Queue<ShipmentImportErrorDto> errors = new ConcurrentLinkedQueue<>();
+
+    private volatile ShipmentImportStatusDto.ImportStatus status = ShipmentImportStatusDto.ImportStatus.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+
+    public ShipmentImportJob(String jobId, String fileName) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isFinished() {
+        return status == ShipmentImportStatusDto.ImportStatus.COMPLETED
+                || status == ShipmentImportStatusDto.ImportStatus.FAILED;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = ShipmentImportStatusDto.ImportStatus.RUNNING;
+    }
+
+    public void complete() {
+        completedAt = LocalDateTime.now();
+        status = ShipmentImportStatusDto.ImportStatus.COMPLETED;
+        message = "Imported " + importedRows.get() + " of " + processedRows.get() + " rows";
+    }
+
+    public void fail(String reason) {
+        completedAt = LocalDateTime.now();
+        status = ShipmentImportStatusDto.ImportStatus.FAILED;
+        message = reason;
+    }
+
+    public void addProcessed(long rows) {
+        processedRows.addAndGet(rows);
+    }
+
+    public void addImported(long rows) {
+        importedRows.addAndGet(rows);
+    }
+
+    /**
+     * Record a rejected row. Only the first {@value #MAX_REPORTED_ERRORS} errors are kept
+     * so a file full of bad rows cannot exhaust memory; the failure count stays exact.
+     */
+    public void recordError(long rowNumber, String error) {
+        failedRows.incrementAndGet();
+        if (reportedErrors.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+            errors.add(new ShipmentImportErrorDto(rowNumber, error));
+        }
+    }
+
+    public ShipmentImportStatusDto toDto() {
+        List<ShipmentImportErrorDto> errorList = new ArrayList<>(errors);
+        errorList.sort((a, b) -> Long.compare(a.getRowNumber(), b.getRowNumber()));
+
+        ShipmentImportStatusDto dto = new ShipmentImportStatusDto();
+        dto.setJobId(jobId);
+        dto.setFileName(fileName);
+        dto.setStatus(status);
+        dto.setProcessedRows(processedRows.get());
+        dto.setImportedRows(importedRows.get());
+        dto.setFailedRows(failedRows.get());
+        dto.setErrors(errorList);
+        dto.setErrorsTruncated(reportedErrors.get() > MAX_REPORTED_ERRORS);
+        dto.setMessage(message);
+        dto.setStartedAt(startedAt);
+        dto.setCompletedAt(completedAt);
+        return dto;
+    }
+}
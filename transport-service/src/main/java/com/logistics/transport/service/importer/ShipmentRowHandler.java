@@ -0,0 +1,13 @@
+package com.logistics.transport.service.importer;
+
+import java.util.Map;
+
+/**
+ * Callback receiving parsed data rows from a {@link ShipmentFileReader}.
+ * Values are keyed by normalized header name (see {@link ShipmentRowMapper#normalizeHeader(String)}).
+ */
+@FunctionalInterface
+public interface ShipmentRowHandler {
+
+    void handleRow(long rowNumber, Map<String, String> values);
+}
@@ -0,0 +1,129 @@
+package com.logistics.transport.service.importer;
+
+import com.logistics.transport.dto.CreateShipmentRequest;
+import com.logistics.transport.entity.Shipment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps a raw import row onto a {@link CreateShipmentRequest}.
+ * Headers are matched case-insensitively and ignoring spaces, dashes and
+ * underscores, so "Sender ID", "sender_id" and "senderId" are equivalent.
+ */
+public final class ShipmentRowMapper {
+
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm[:ss]"),
+            DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm[:ss]"));
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+
+    private ShipmentRowMapper() {
+    }
+
+    public static String normalizeHeader(String header) {
+        if (header == null) {
+            return "";
+        }
+        return header.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a value cannot be converted to its field type
+     */
+    public static CreateShipmentRequest toRequest(Map<String, String> values) {
+        CreateShipmentRequest request = new CreateShipmentRequest();
+        request.setSenderId(parseLong(values, "senderid"));
+        request.setReceiverId(parseLong(values, "receiverid"));
+        request.setOriginAddress(text(values, "originaddress", "origin"));
+        request.setDestinationAddress(text(values, "destinationaddress", "destination"));
+        request.setWeightKg(parseDecimal(values, "weightkg", "weight"));
+        request.setVolumeM3(parseDecimal(values, "volumem3", "volume"));
+        request.setDeclaredValue(parseDecimal(values, "declaredvalue"));
+        request.setPriority(parsePriority(values));
+        request.setPickupDate(parseDateTime(values, "pickupdate"));
+        request.setEstimatedDelivery(parseDateTime(values, "estimateddelivery"));
+        request.setNotes(text(values, "notes"));
+        return request;
+    }
+
+    private static String text(Map<String, String> values, String... keys) {
+        for (String key : keys) {
+            String value = values.get(key);
+            if (value != null && !value.trim().isEmpty()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    private static Long parseLong(Map<String, String> values, String key) {
+        String value = text(values, key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": '" + value + "'");
+        }
+    }
+
+    private static BigDecimal parseDecimal(Map<String, String> values, String... keys) {
+        String value = text(values, keys);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + keys[0] + ": '" + value + "'");
+        }
+    }
+
+    private static Shipment.Priority parsePriority(Map<String, String> values) {
+        String value = text(values, "priority");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Shipment.Priority.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid priority: '" + value + "'");
+        }
+    }
+
+    private static LocalDateTime parseDateTime(Map<String, String> values, String key) {
+        String value = text(values, key);
+        if (value == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try next format
+            }
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format).atStartOfDay();
+            } catch (DateTimeParseException ignored) {
+                // try next format
+            }
+        }
+        throw new IllegalArgumentException("Invalid date for " + key + ": '" + value + "'");
+    }
+}
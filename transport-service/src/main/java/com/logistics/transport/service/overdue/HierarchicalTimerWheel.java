@@ -0,0 +1,150 @@
+package com.logistics.transport.service.overdue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel keyed by {@code K}, with deadlines expressed in whole ticks.
+ *
+ * Level {@code n} has 64 slots of {@code 64^n} ticks each. A timer is placed on the lowest
+ * level whose span still covers its deadline and is cascaded one level down when the wheel
+ * reaches its slot, so scheduling, cancelling and expiring are O(1) and advancing one tick
+ * only touches the slots that turn over. Six levels cover 2^36 ticks; later deadlines wait
+ * in an overflow set that is revisited when the top level turns over.
+ *
+ * Not thread-safe; callers serialize access.
+ */
+public final class HierarchicalTimerWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+
+    private final List<List<Set<K>>> levels = new ArrayList<>(LEVELS);
+    private final Set<K> overflow = new LinkedHashSet<>();
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    private record Timer<K>(long deadline, Set<K> bucket) {
+    }
+
+    public HierarchicalTimerWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int level = 0; level < LEVELS; level++) {
+            List<Set<K>> slots = new ArrayList<>(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Schedule {@code key} to expire at {@code deadlineTick}, replacing any earlier timer for it.
+     * Returns {@code false} without scheduling when the deadline is not after the current tick.
+     */
+    public boolean schedule(K key, long deadlineTick) {
+        cancel(key);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        place(key, deadlineTick);
+        return true;
+    }
+
+    /**
+     * Cancel the timer for {@code key}, if any.
+     */
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket().remove(key);
+        return true;
+    }
+
+    public boolean isScheduled(K key) {
+        return timers.containsKey(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Advance the wheel to {@code targetTick}, handing each key whose deadline passed to {@code expired}.
+     */
+    public void advance(long targetTick, Consumer<K> expired) {
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < LEVELS && (currentTick & spanMask(level)) == 0; level++) {
+                cascade(levels.get(level).get(slot(currentTick, level)), expired);
+            }
+            if ((currentTick & spanMask(LEVELS)) == 0) {
+                cascade(overflow, expired);
+            }
+
+            Set<K> due = levels.get(0).get(slot(currentTick, 0));
+            if (!due.isEmpty()) {
+                List<K> keys = new ArrayList<>(due);
+                due.clear();
+                for (K key : keys) {
+                    timers.remove(key);
+                    expired.accept(key);
+                }
+            }
+        }
+    }
+
+    private void cascade(Set<K> bucket, Consumer<K> expired) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(bucket);
+        bucket.clear();
+        for (K key : keys) {
+            long deadline = timers.get(key).deadline();
+            if (deadline <= currentTick) {
+                timers.remove(key);
+                expired.accept(key);
+            } else {
+                place(key, deadline);
+            }
+        }
+    }
+
+    /**
+     * Put the timer on the lowest level where the deadline and the current tick share every
+     * higher-order slot, which guarantees its slot is reached before the deadline.
+     */
+    private void place(K key, long deadline) {
+        Set<K> bucket = overflow;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >>> shift) == (currentTick >>> shift)) {
+                bucket = levels.get(level).get(slot(deadline, level));
+                break;
+            }
+        }
+        bucket.add(key);
+        timers.put(key, new Timer<>(deadline, bucket));
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    private static long spanMask(int level) {
+        return (1L << (SLOT_BITS * level)) - 1;
+    }
+}
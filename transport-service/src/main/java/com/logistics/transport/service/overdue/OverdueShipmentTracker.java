@@ -0,0 +1,291 @@
+package com.logistics.transport.service.overdue;
+
+import com.logistics.transport.entity.Shipment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Live set of overdue shipments, driven by a {@link HierarchicalTimerWheel} of delivery deadlines.
+ *
+ * Every open shipment with an estimated delivery has a timer on the wheel. The wheel is advanced
+ * once a second; when a deadline passes the shipment moves into the overdue set and a
+ * {@link ShipmentOverdueEvent} is published. Shipment writes reschedule or cancel the timer after
+ * their transaction commits, so reading the overdue set or its size never touches the database.
+ *
+ * Open shipments are loaded by one streaming scan once the application is ready, and rescanned
+ * every {@code overdue.reconcile-interval} to pick up writes made on other instances; writes
+ * committed on this instance while a scan runs take precedence over the rows it read. Shipments
+ * already overdue at startup join the overdue set without an event. The set can therefore lag
+ * other instances by up to one interval, so readers recheck the rows they load. Deadlines are
+ * local date-times in the JVM zone, like the {@code estimatedDelivery < now} queries they replace.
+ */
+@Component
+@Slf4j
+public class OverdueShipmentTracker {
+
+    private static final String OPEN_DEADLINES_QUERY = "SELECT s.id, s.estimatedDelivery FROM Shipment s " +
+            "WHERE s.estimatedDelivery IS NOT NULL AND s.status NOT IN ('DELIVERED', 'CANCELLED')";
+    private static final int SCAN_FETCH_SIZE = 1000;
+    private static final long TICK_MILLIS = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter detected;
+
+    private final Map<Long, LocalDateTime> overdue = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> scheduled = new HashMap<>();
+    private final HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(currentTick());
+    private Set<Long> changedDuringLoad;
+    private volatile boolean ready;
+
+    public OverdueShipmentTracker(EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.detected = Counter.builder("transport.shipments.overdue.detected")
+                .description("Shipments that passed their estimated delivery while open")
+                .register(meterRegistry);
+        Gauge.builder("transport.shipments.overdue", overdue, Map::size)
+                .description("Open shipments past their estimated delivery")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Rescan the open shipments and correct the wheel and the overdue set: shipments written by
+     * other instances, or by anything that bypasses the services, are only picked up here.
+     * Writes committed on this instance while the scan runs take precedence over its rows.
+     */
+    @Scheduled(fixedDelayString = "${overdue.reconcile-interval:PT1M}",
+            initialDelayString = "${overdue.reconcile-interval:PT1M}")
+    public void reconcile() {
+        long startedAt = System.nanoTime();
+        synchronized (this) {
+            if (changedDuringLoad != null) {
+                return;
+            }
+            changedDuringLoad = new HashSet<>();
+        }
+
+        Map<Long, LocalDateTime> open = new HashMap<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = entityManager.createQuery(OPEN_DEADLINES_QUERY, Object[].class)
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, SCAN_FETCH_SIZE)
+                        .getResultStream()) {
+                    rows.forEach(row -> open.put((Long) row[0], (LocalDateTime) row[1]));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringLoad = null;
+            }
+            if (ready) {
+                log.error("Overdue tracker reconciliation failed", e);
+            } else {
+                log.error("Open shipment deadlines could not be loaded; overdue queries fall back to the database", e);
+            }
+            return;
+        }
+
+        List<ShipmentOverdueEvent> events = new ArrayList<>();
+        boolean loaded;
+        int corrected = 0;
+        synchronized (this) {
+            Set<Long> tracked = new HashSet<>(scheduled.keySet());
+            tracked.addAll(overdue.keySet());
+            for (Long id : tracked) {
+                if (!open.containsKey(id) && !changedDuringLoad.contains(id)) {
+                    schedule(id, null);
+                    corrected++;
+                }
+            }
+            for (Map.Entry<Long, LocalDateTime> row : open.entrySet()) {
+                Long id = row.getKey();
+                LocalDateTime deadline = row.getValue();
+                if (changedDuringLoad.contains(id)
+                        || deadline.equals(scheduled.get(id)) || deadline.equals(overdue.get(id))) {
+                    continue;
+                }
+                corrected++;
+                if (schedule(id, deadline)) {
+                    events.add(new ShipmentOverdueEvent(id, deadline));
+                }
+            }
+            changedDuringLoad = null;
+            loaded = ready;
+            ready = true;
+        }
+        events.forEach(this::publish);
+        if (!loaded) {
+            log.info("Overdue tracker loaded: {} open shipments, {} overdue in {} ms",
+                    open.size(), overdue.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        } else if (corrected > 0) {
+            log.info("Overdue tracker reconciled: {} shipments corrected in {} ms",
+                    corrected, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of the shipments currently overdue.
+     */
+    public List<Long> overdueIds() {
+        return new ArrayList<>(overdue.keySet());
+    }
+
+    public long overdueCount() {
+        return overdue.size();
+    }
+
+    public boolean isOverdue(Long shipmentId) {
+        return overdue.containsKey(shipmentId);
+    }
+
+    /**
+     * (Re)schedule a created or updated shipment's deadline once the current transaction commits.
+     * Delivered and cancelled shipments, and those without an estimated delivery, are untracked.
+     */
+    public void trackAfterCommit(Shipment shipment) {
+        Long id = shipment.getId();
+        LocalDateTime deadline = isOpen(shipment) ? shipment.getEstimatedDelivery() : null;
+        afterCommit(() -> {
+            ShipmentOverdueEvent event;
+            synchronized (this) {
+                markChanged(id);
+                event = schedule(id, deadline) ? new ShipmentOverdueEvent(id, deadline) : null;
+            }
+            if (event != null) {
+                publish(event);
+            }
+        });
+    }
+
+    /**
+     * Stop tracking a deleted shipment once the current transaction commits.
+     */
+    public void untrackAfterCommit(Long shipmentId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                markChanged(shipmentId);
+                schedule(shipmentId, null);
+            }
+        });
+    }
+
+    /**
+     * Advance the wheel to now and publish an event for every deadline that passed.
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        List<ShipmentOverdueEvent> events = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(currentTick(), id -> {
+                LocalDateTime deadline = scheduled.remove(id);
+                overdue.put(id, deadline);
+                events.add(new ShipmentOverdueEvent(id, deadline));
+            });
+        }
+        events.forEach(this::publish);
+    }
+
+    /**
+     * Replace the shipment's timer, or untrack it when {@code deadline} is null.
+     * Returns {@code true} when the shipment has just become overdue.
+     */
+    private boolean schedule(Long id, LocalDateTime deadline) {
+        wheel.cancel(id);
+        scheduled.remove(id);
+        if (deadline == null) {
+            overdue.remove(id);
+            return false;
+        }
+        if (wheel.schedule(id, deadlineTick(deadline))) {
+            scheduled.put(id, deadline);
+            overdue.remove(id);
+            return false;
+        }
+        return overdue.put(id, deadline) == null && ready;
+    }
+
+    private void markChanged(Long id) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(id);
+        }
+    }
+
+    private void publish(ShipmentOverdueEvent event) {
+        detected.increment();
+        log.warn("Shipment {} is overdue: estimated delivery was {}", event.shipmentId(), event.estimatedDelivery());
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.error("Overdue listener failed for shipment {}", event.shipmentId(), e);
+        }
+    }
+
+    private static boolean isOpen(Shipment shipment) {
+        return shipment.getStatus() != Shipment.ShipmentStatus.DELIVERED
+                && shipment.getStatus() != Shipment.ShipmentStatus.CANCELLED;
+    }
+
+    /**
+     * The first tick at which {@code estimatedDelivery < now} holds.
+     */
+    private static long deadlineTick(LocalDateTime deadline) {
+        return Math.floorDiv(deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), TICK_MILLIS) + 1;
+    }
+
+    private static long currentTick() {
+        return Math.floorDiv(System.currentTimeMillis(), TICK_MILLIS);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.logistics.transport.service.overdue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an open shipment passes its estimated delivery time.
+ */
+public record ShipmentOverdueEvent(Long shipmentId, LocalDateTime estimatedDelivery) {
+}
@@ -0,0 +1,208 @@
+package com.logistics.transport.service.sync;
+
+import com.logistics.common.exception.BusinessException;
+import com.logistics.transport.dto.DriverSyncDto;
+import com.logistics.transport.dto.ShipmentDto;
+import com.logistics.transport.dto.VehicleDto;
+import com.logistics.transport.entity.Shipment;
+import com.logistics.transport.entity.SyncChange;
+import com.logistics.transport.repository.ShipmentReadRepository;
+import com.logistics.transport.repository.SyncChangeRepository;
+import com.logistics.transport.repository.VehicleReadRepository;
+import com.logistics.transport.security.AuthenticatedUser;
+import com.logistics.transport.service.RouteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Incremental sync of a driver's shipments, vehicles, routes and stops.
+ * <p>
+ * Without a cursor the driver gets a snapshot of the open work. With one, only the change
+ * log entries after it are read, collapsed to the latest change per entity, and answered
+ * with the current rows (one IN query per type) plus tombstone ids. Entries are only read
+ * below the oldest running transaction, so a change that commits late is never skipped.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class DriverSyncService {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final EnumSet<Shipment.ShipmentStatus> OPEN_SHIPMENT_STATUSES = EnumSet.of(
+            Shipment.ShipmentStatus.PENDING, Shipment.ShipmentStatus.PICKED_UP,
+            Shipment.ShipmentStatus.IN_TRANSIT, Shipment.ShipmentStatus.OUT_FOR_DELIVERY);
+
+    // Headroom between cursor expiry and purging for transactions that commit out of order
+    private static final Duration PURGE_MARGIN = Duration.ofDays(1);
+
+    private final SyncChangeRepository syncChangeRepository;
+    private final ShipmentReadRepository shipmentReadRepository;
+    private final VehicleReadRepository vehicleReadRepository;
+    private final RouteService routeService;
+    private final Duration retention;
+
+    public DriverSyncService(SyncChangeRepository syncChangeRepository,
+                             ShipmentReadRepository shipmentReadRepository,
+                             VehicleReadRepository vehicleReadRepository,
+                             RouteService routeService,
+                             @Value("${sync.changes.retention:P7D}") Duration retention) {
+        this.syncChangeRepository = syncChangeRepository;
+        this.shipmentReadRepository = shipmentReadRepository;
+        this.vehicleReadRepository = vehicleReadRepository;
+        this.routeService = routeService;
+        this.retention = retention;
+    }
+
+    /**
+     * Changes for {@code driverId} since {@code cursor}, at most {@code limit} log entries.
+     * A missing or expired cursor yields a full snapshot with {@code reset} set.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or @driverSyncService.isCurrentDriver(#driverId)")
+    public DriverSyncDto getChanges(Long driverId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return snapshot(driverId);
+        }
+        SyncCursor position = SyncCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        if (position.changedAt().isBefore(now.minus(retention))) {
+            log.info("Sync cursor for driver {} is older than {}, sending a full snapshot", driverId, retention);
+            return snapshot(driverId);
+        }
+
+        long horizon = syncChangeRepository.completedHorizon();
+        List<SyncChange> entries = syncChangeRepository.findChangesAfter(
+                driverId, position.txId(), position.id(), horizon, PageRequest.of(0, limit + 1));
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        if (entries.isEmpty()) {
+            // Anything still unseen belongs to a transaction running right now
+            return new DriverSyncDto(new SyncCursor(position.txId(), position.id(), now).encode(),
+                    false, false, null, null, null, null, null);
+        }
+
+        // Latest entry per entity wins
+        Map<SyncChange.EntityType, Map<Long, Boolean>> latest = new EnumMap<>(SyncChange.EntityType.class);
+        for (SyncChange entry : entries) {
+            latest.computeIfAbsent(entry.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.isDeleted());
+        }
+
+        DriverSyncDto result = new DriverSyncDto();
+        Map<SyncChange.EntityType, List<Long>> deleted = new EnumMap<>(SyncChange.EntityType.class);
+        result.setShipments(upserts(latest, SyncChange.EntityType.SHIPMENT, deleted,
+                ids -> byId(shipmentReadRepository.findDtosByIds(ids), ShipmentDto::getId),
+                shipment -> driverId.equals(shipment.getDriverId())));
+        result.setVehicles(upserts(latest, SyncChange.EntityType.VEHICLE, deleted,
+                ids -> byId(vehicleReadRepository.findDtosByIds(ids), VehicleDto::getId),
+                vehicle -> driverId.equals(vehicle.getDriverId())));
+        result.setRoutes(upserts(latest, SyncChange.EntityType.ROUTE, deleted,
+                ids -> routeService.findDriverRoutesByIds(driverId, ids),
+                route -> true));
+        result.setStops(upserts(latest, SyncChange.EntityType.ROUTE_STOP, deleted,
+                ids -> routeService.findDriverStopsByIds(driverId, ids),
+                stop -> true));
+        result.setDeleted(deleted);
+
+        SyncChange last = entries.get(entries.size() - 1);
+        result.setCursor(new SyncCursor(last.getTxId(), last.getId(), hasMore ? last.getChangedAt() : now).encode());
+        result.setHasMore(hasMore);
+        return result;
+    }
+
+    /**
+     * Whether the caller is the driver {@code driverId}, i.e. its token carries that user id.
+     */
+    public boolean isCurrentDriver(Long driverId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return driverId != null && authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && driverId.equals(user.id());
+    }
+
+    /**
+     * Drops log entries no unexpired cursor can still need.
+     */
+    @Scheduled(cron = "${sync.changes.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpiredChanges() {
+        int purged = syncChangeRepository.deleteOlderThan(LocalDateTime.now().minus(retention).minus(PURGE_MARGIN));
+        log.info("Purged {} expired sync changes", purged);
+    }
+
+    private DriverSyncDto snapshot(Long driverId) {
+        // Taken before reading the rows: later changes are re-sent rather than missed
+        long horizon = syncChangeRepository.completedHorizon();
+        LocalDateTime now = LocalDateTime.now();
+
+        DriverSyncDto result = new DriverSyncDto();
+        result.setReset(true);
+        result.setShipments(shipmentReadRepository.findDtosByDriverIdAndStatusIn(driverId, OPEN_SHIPMENT_STATUSES));
+        result.setVehicles(vehicleReadRepository.findDtosByDriverId(driverId));
+        result.setRoutes(routeService.getOpenRoutesByDriverId(driverId));
+        result.setStops(routeService.getOpenStopsByDriverId(driverId));
+        result.setCursor(new SyncCursor(horizon - 1, Long.MAX_VALUE, now).encode());
+        return result;
+    }
+
+    /**
+     * Current rows of the entities upserted in this page. Rows that are gone or no longer
+     * belong to the driver are reported as deleted instead.
+     */
+    private <T> List<T> upserts(Map<SyncChange.EntityType, Map<Long, Boolean>> latest, SyncChange.EntityType type,
+                                Map<SyncChange.EntityType, List<Long>> deleted,
+                                Function<List<Long>, Map<Long, T>> loader, Predicate<T> ownedByDriver) {
+        Map<Long, Boolean> changes = latest.getOrDefault(type, Map.of());
+        List<Long> upsertIds = new ArrayList<>();
+        changes.forEach((id, isDeleted) -> {
+            if (isDeleted) {
+                deleted.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+            } else {
+                upsertIds.add(id);
+            }
+        });
+        if (upsertIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, T> rows = loader.apply(upsertIds);
+        List<T> result = new ArrayList<>();
+        for (Long id : upsertIds) {
+            T row = rows.get(id);
+            if (row != null && ownedByDriver.test(row)) {
+                result.add(row);
+            } else {
+                deleted.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+            }
+        }
+        return result;
+    }
+
+    private static <T> Map<Long, T> byId(List<T> rows, Function<T, Long> id) {
+        Map<Long, T> byId = new LinkedHashMap<>();
+        rows.forEach(row -> byId.put(id.apply(row), row));
+        return byId;
+    }
+}
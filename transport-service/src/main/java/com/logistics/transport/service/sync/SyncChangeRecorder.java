@@ -0,0 +1,91 @@
+package com.logistics.transport.service.sync;
+
+import com.logistics.transport.entity.SyncChange;
+import com.logistics.transport.repository.SyncChangeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Appends driver-visible changes to the sync change log. Changes are collected per
+ * transaction, collapsed per entity and driver, and written just before the commit with
+ * the transaction's id, so they become visible exactly when the change itself does.
+ */
+@Component
+public class SyncChangeRecorder {
+
+    private final SyncChangeRepository syncChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SyncChangeRecorder(SyncChangeRepository syncChangeRepository, PlatformTransactionManager transactionManager) {
+        this.syncChangeRepository = syncChangeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * An entity was created or updated. When its driver changed, the previous driver gets a
+     * tombstone and the new one an upsert; a null driver on either side is skipped.
+     */
+    public void changed(SyncChange.EntityType type, Long entityId, Long previousDriverId, Long driverId) {
+        if (previousDriverId != null && !previousDriverId.equals(driverId)) {
+            record(new Key(type, entityId, previousDriverId), true);
+        }
+        if (driverId != null) {
+            record(new Key(type, entityId, driverId), false);
+        }
+    }
+
+    /**
+     * An entity was deleted; its driver, if any, gets a tombstone.
+     */
+    public void deleted(SyncChange.EntityType type, Long entityId, Long driverId) {
+        if (driverId != null) {
+            record(new Key(type, entityId, driverId), true);
+        }
+    }
+
+    private void record(Key key, boolean deleted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> record(key, deleted));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        // Later changes to the same entity in this transaction replace earlier ones
+        pending.changes.put(key, deleted);
+    }
+
+    private record Key(SyncChange.EntityType type, Long entityId, Long driverId) {
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Key, Boolean> changes = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            long txId = syncChangeRepository.currentTransactionId();
+            LocalDateTime now = LocalDateTime.now();
+            syncChangeRepository.saveAll(changes.entrySet().stream()
+                    .map(change -> new SyncChange(null, txId, change.getKey().driverId(), change.getKey().type(),
+                            change.getKey().entityId(), change.getValue(), now))
+                    .collect(Collectors.toList()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SyncChangeRecorder.this);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.logistics.transport.service.sync;
+
+import com.logistics.common.exception.BusinessException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Position in a driver's change log: the last delivered (transaction id, entry id), plus the
+ * time of that change, which tells whether the entries after it may have been purged.
+ * Encoded as three base-36 numbers separated by dots.
+ */
+record SyncCursor(long txId, long id, LocalDateTime changedAt) {
+
+    String encode() {
+        return Long.toString(txId, 36) + "." + Long.toString(id, 36) + "." + Long.toString(changedAt.toEpochSecond(ZoneOffset.UTC), 36);
+    }
+
+    static SyncCursor decode(String value) {
+        String[] parts = value.split("\\.");
+        if (parts.length != 3) {
+            throw new BusinessException("Invalid sync cursor: " + value);
+        }
+        try {
+            return new SyncCursor(Long.parseLong(parts[0], 36), Long.parseLong(parts[1], 36),
+                    LocalDateTime.ofEpochSecond(Long.parseLong(parts[2], 36), 0, ZoneOffset.UTC));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid sync cursor: " + value);
+        }
+    }
+}
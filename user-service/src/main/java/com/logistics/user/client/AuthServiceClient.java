@@ -1,13 +1,16 @@
 package com.logistics.user.client;
 
+import com.logistics.common.dto.BaseResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(name = "auth-service", path = "/auth")
+import java.util.Map;
+
+@FeignClient(name = "auth-service", path = "/auth", configuration = FeignCodecConfig.class)
 public interface AuthServiceClient {
     
     @GetMapping("/validate")
-    ResponseEntity<String> validateToken(@RequestHeader("Authorization") String token);
-}
\ No newline at end of file
+    ResponseEntity<BaseResponse<Map<String, Object>>> validateToken(@RequestHeader("Authorization") String token);
+}
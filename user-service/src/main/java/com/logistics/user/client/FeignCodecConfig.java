@@ -0,0 +1,24 @@
+package com.logistics.user.client;
+
+import com.logistics.common.web.BinaryCodecConfig;
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign configuration for internal clients: asks downstream services for Smile, with JSON as fallback.
+ * Responses are decoded by the shared message converters, which include the binary codecs.
+ * Only {@link AuthServiceClient} uses it so far, and nothing calls that client yet: user-service
+ * validates tokens locally. New internal clients should reference this configuration.
+ */
+public class FeignCodecConfig {
+
+    @Bean
+    public RequestInterceptor binaryAcceptInterceptor() {
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, BinaryCodecConfig.INTERNAL_ACCEPT);
+            }
+        };
+    }
+}
@@ -1,13 +1,17 @@
 package com.logistics.user.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.common.web.NdjsonResponse;
 import com.logistics.user.dto.UserDto;
 import com.logistics.user.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,6 +30,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get all users.
@@ -40,6 +45,18 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get all users as newline-delimited JSON, written while they are read.
+     * 
+     * @return ResponseEntity streaming one user per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.info("Streaming all users");
+        return NdjsonResponse.of(objectMapper, userService::streamAllUsers);
+    }
+
     /**
      * Get user by ID.
      * 
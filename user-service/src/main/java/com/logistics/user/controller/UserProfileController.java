@@ -1,11 +1,15 @@
 package com.logistics.user.controller;
 
 import com.logistics.common.dto.BaseResponse;
+import com.logistics.common.dto.MultiGetResult;
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.common.web.SparseFields;
 import com.logistics.user.dto.CreateUserProfileRequest;
 import com.logistics.user.dto.UpdateUserProfileRequest;
 import com.logistics.user.dto.UserProfileDto;
 import com.logistics.user.entity.UserProfile;
 import com.logistics.user.service.UserProfileService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -14,6 +18,8 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -22,29 +28,73 @@ public class UserProfileController {
 
     private final UserProfileService userProfileService;
 
+    /**
+     * List endpoints accept {@code ?fields=id,username,email} to select and return only those properties.
+     */
     @GetMapping
     public ResponseEntity<BaseResponse<Page<UserProfileDto>>> getAllUsers(
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<UserProfileDto> users = userProfileService.getAllUsers(pageable);
+        Page<UserProfileDto> users = userProfileService.getAllUsers(fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(users, "Users retrieved successfully"));
     }
 
+    /**
+     * Single-profile reads support conditional GET (ETag / If-Modified-Since).
+     */
     @GetMapping("/profile")
-    public ResponseEntity<BaseResponse<UserProfileDto>> getCurrentUserProfile() {
+    public ResponseEntity<BaseResponse<UserProfileDto>> getCurrentUserProfile(HttpServletRequest request) {
+        EntityFreshness freshness = userProfileService.getCurrentUserFreshness();
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified();
+        }
         UserProfileDto userProfile = userProfileService.getCurrentUserProfile();
-        return ResponseEntity.ok(BaseResponse.success(userProfile, "User profile retrieved successfully"));
+        return EntityFreshness.of(userProfile.getId(), userProfile.getUpdatedAt())
+                .ok(BaseResponse.success(userProfile, "User profile retrieved successfully"));
+    }
+
+    /**
+     * Several profiles by username in one call ({@code ?usernames=a,b}); order and not-found entries follow the request.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<BaseResponse<MultiGetResult<String, UserProfileDto>>> getUsersByUsernames(
+            @RequestParam List<String> usernames) {
+        MultiGetResult<String, UserProfileDto> result = userProfileService.getUsersByUsernames(usernames);
+        return ResponseEntity.ok(BaseResponse.success(result, "Users retrieved successfully"));
+    }
+
+    /**
+     * Same as {@code GET /batch} with the usernames as a JSON array body, for lists too long for a URL.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BaseResponse<MultiGetResult<String, UserProfileDto>>> getUsersByUsernamesFromBody(
+            @RequestBody List<String> usernames) {
+        MultiGetResult<String, UserProfileDto> result = userProfileService.getUsersByUsernames(usernames);
+        return ResponseEntity.ok(BaseResponse.success(result, "Users retrieved successfully"));
     }
 
     @GetMapping("/{username}")
-    public ResponseEntity<BaseResponse<UserProfileDto>> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<BaseResponse<UserProfileDto>> getUserByUsername(@PathVariable String username,
+                                                                         HttpServletRequest request) {
+        EntityFreshness freshness = userProfileService.getUserFreshnessByUsername(username);
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified();
+        }
         UserProfileDto userProfile = userProfileService.getUserByUsername(username);
-        return ResponseEntity.ok(BaseResponse.success(userProfile, "User retrieved successfully"));
+        return EntityFreshness.of(userProfile.getId(), userProfile.getUpdatedAt())
+                .ok(BaseResponse.success(userProfile, "User retrieved successfully"));
     }
 
     @GetMapping("/auth/{authUserId}")
-    public ResponseEntity<BaseResponse<UserProfileDto>> getUserByAuthUserId(@PathVariable Long authUserId) {
+    public ResponseEntity<BaseResponse<UserProfileDto>> getUserByAuthUserId(@PathVariable Long authUserId,
+                                                                           HttpServletRequest request) {
+        EntityFreshness freshness = userProfileService.getUserFreshnessByAuthUserId(authUserId);
+        if (freshness.isNotModified(request)) {
+            return freshness.notModified();
+        }
         UserProfileDto userProfile = userProfileService.getUserByAuthUserId(authUserId);
-        return ResponseEntity.ok(BaseResponse.success(userProfile, "User retrieved successfully"));
+        return EntityFreshness.of(userProfile.getId(), userProfile.getUpdatedAt())
+                .ok(BaseResponse.success(userProfile, "User retrieved successfully"));
     }
 
     @PostMapping
@@ -71,16 +121,18 @@ public class UserProfileController {
     @GetMapping("/search")
     public ResponseEntity<BaseResponse<Page<UserProfileDto>>> searchUsers(
             @RequestParam String q,
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<UserProfileDto> users = userProfileService.searchUsers(q, pageable);
+        Page<UserProfileDto> users = userProfileService.searchUsers(q, fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(users, "Search completed successfully"));
     }
 
     @GetMapping("/status/{status}")
     public ResponseEntity<BaseResponse<Page<UserProfileDto>>> getUsersByStatus(
             @PathVariable UserProfile.UserStatus status,
+            SparseFields fields,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<UserProfileDto> users = userProfileService.getUsersByStatus(status, pageable);
+        Page<UserProfileDto> users = userProfileService.getUsersByStatus(status, fields, pageable);
         return ResponseEntity.ok(BaseResponse.success(users, "Users retrieved successfully"));
     }
 
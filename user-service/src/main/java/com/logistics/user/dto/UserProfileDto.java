@@ -1,5 +1,7 @@
 package com.logistics.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.logistics.common.web.SparseFields;
 import com.logistics.user.entity.UserProfile;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFields.FILTER_ID)
 public class UserProfileDto {
     private Long id;
     private Long authUserId;
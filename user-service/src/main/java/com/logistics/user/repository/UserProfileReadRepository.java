@@ -0,0 +1,94 @@
+package com.logistics.user.repository;
+
+import com.logistics.common.jpa.SparseProjection;
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.user.dto.UserProfileDto;
+import com.logistics.user.entity.UserProfile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-side profile queries that select straight into {@link UserProfileDto}.
+ */
+@RepositoryDefinition(domainClass = UserProfile.class, idClass = Long.class)
+public interface UserProfileReadRepository {
+
+    String SELECT_DTO = "SELECT new com.logistics.user.dto.UserProfileDto(" +
+            "u.id, u.authUserId, u.username, u.email, u.firstName, u.lastName, u.phoneNumber, " +
+            "u.profilePictureUrl, u.bio, u.company, u.department, u.position, u.address, u.city, " +
+            "u.country, u.postalCode, u.dateOfBirth, u.status, u.language, u.timezone, " +
+            "u.emailVerified, u.phoneVerified, u.lastLogin, u.createdAt, u.updatedAt) FROM UserProfile u";
+
+    /**
+     * Same columns as {@link #SELECT_DTO}, selectable one by one for {@code ?fields=} requests.
+     */
+    SparseProjection<UserProfileDto> SPARSE_PROJECTION = SparseProjection.builder("UserProfile", "u", UserProfileDto::new)
+            .field("id", UserProfileDto::setId)
+            .field("authUserId", UserProfileDto::setAuthUserId)
+            .field("username", UserProfileDto::setUsername)
+            .field("email", UserProfileDto::setEmail)
+            .field("firstName", UserProfileDto::setFirstName)
+            .field("lastName", UserProfileDto::setLastName)
+            .field("phoneNumber", UserProfileDto::setPhoneNumber)
+            .field("profilePictureUrl", UserProfileDto::setProfilePictureUrl)
+            .field("bio", UserProfileDto::setBio)
+            .field("company", UserProfileDto::setCompany)
+            .field("department", UserProfileDto::setDepartment)
+            .field("position", UserProfileDto::setPosition)
+            .field("address", UserProfileDto::setAddress)
+            .field("city", UserProfileDto::setCity)
+            .field("country", UserProfileDto::setCountry)
+            .field("postalCode", UserProfileDto::setPostalCode)
+            .field("dateOfBirth", UserProfileDto::setDateOfBirth)
+            .field("status", UserProfileDto::setStatus)
+            .field("language", UserProfileDto::setLanguage)
+            .field("timezone", UserProfileDto::setTimezone)
+            .field("emailVerified", UserProfileDto::setEmailVerified)
+            .field("phoneVerified", UserProfileDto::setPhoneVerified)
+            .field("lastLogin", UserProfileDto::setLastLogin)
+            .field("createdAt", UserProfileDto::setCreatedAt)
+            .field("updatedAt", UserProfileDto::setUpdatedAt)
+            .build();
+
+    String SELECT_FRESHNESS = "SELECT new com.logistics.common.web.EntityFreshness(u.id, u.updatedAt) FROM UserProfile u";
+
+    String SEARCH_CONDITION = " WHERE " +
+            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))";
+
+    @Query(value = SELECT_DTO,
+           countQuery = "SELECT COUNT(u) FROM UserProfile u")
+    Page<UserProfileDto> findAllDtos(Pageable pageable);
+
+    @Query(SELECT_DTO + " WHERE u.username = :username")
+    Optional<UserProfileDto> findDtoByUsername(@Param("username") String username);
+
+    @Query(SELECT_DTO + " WHERE u.username IN :usernames")
+    List<UserProfileDto> findDtosByUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query(SELECT_DTO + " WHERE u.authUserId = :authUserId")
+    Optional<UserProfileDto> findDtoByAuthUserId(@Param("authUserId") Long authUserId);
+
+    @Query(SELECT_FRESHNESS + " WHERE u.username = :username")
+    Optional<EntityFreshness> findFreshnessByUsername(@Param("username") String username);
+
+    @Query(SELECT_FRESHNESS + " WHERE u.authUserId = :authUserId")
+    Optional<EntityFreshness> findFreshnessByAuthUserId(@Param("authUserId") Long authUserId);
+
+    @Query(value = SELECT_DTO + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(u) FROM UserProfile u" + SEARCH_CONDITION)
+    Page<UserProfileDto> findDtosBySearchTerm(@Param("search") String search, Pageable pageable);
+
+    @Query(value = SELECT_DTO + " WHERE u.status = :status",
+           countQuery = "SELECT COUNT(u) FROM UserProfile u WHERE u.status = :status")
+    Page<UserProfileDto> findDtosByStatus(@Param("status") UserProfile.UserStatus status, Pageable pageable);
+}
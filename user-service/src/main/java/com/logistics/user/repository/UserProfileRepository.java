@@ -1,14 +1,18 @@
 package com.logistics.user.repository;
 
 import com.logistics.user.entity.UserProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
@@ -37,4 +41,11 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     
     @Query("SELECT u FROM UserProfile u WHERE u.company = :company")
     Page<UserProfile> findByCompany(@Param("company") String company, Pageable pageable);
+    
+    @Query("SELECT u FROM UserProfile u ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserProfile> streamAll();
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.logistics.user.service;
 
+import com.logistics.common.dto.MultiGetResult;
 import com.logistics.common.exception.BusinessException;
 import com.logistics.common.exception.ResourceNotFoundException;
+import com.logistics.common.web.EntityFreshness;
+import com.logistics.common.web.SparseFields;
 import com.logistics.user.dto.CreateUserProfileRequest;
 import com.logistics.user.dto.UpdateUserProfileRequest;
 import com.logistics.user.dto.UserProfileDto;
 import com.logistics.user.entity.UserProfile;
+import com.logistics.user.repository.UserProfileReadRepository;
 import com.logistics.user.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,6 +22,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,33 +34,78 @@ import java.time.LocalDateTime;
 @Transactional
 public class UserProfileService {
 
+    private static final int MAX_MULTI_GET = 500;
+
     private final UserProfileRepository userProfileRepository;
+    private final UserProfileReadRepository userProfileReadRepository;
     private final UserActivityService userActivityService;
+    private final EntityManager entityManager;
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public Page<UserProfileDto> getAllUsers(Pageable pageable) {
-        return userProfileRepository.findAll(pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<UserProfileDto> getAllUsers(SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return userProfileReadRepository.findAllDtos(pageable);
+        }
+        return UserProfileReadRepository.SPARSE_PROJECTION.page(entityManager, fields, "", Map.of(), pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or authentication.name == #username")
+    @Transactional(readOnly = true)
     public UserProfileDto getUserByUsername(String username) {
-        UserProfile userProfile = userProfileRepository.findByUsername(username)
+        return userProfileReadRepository.findDtoByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        return convertToDto(userProfile);
     }
 
+    /**
+     * Several profiles by username with one IN query. Items follow the requested order.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    @Transactional(readOnly = true)
+    public MultiGetResult<String, UserProfileDto> getUsersByUsernames(List<String> usernames) {
+        if (usernames.size() > MAX_MULTI_GET) {
+            throw new BusinessException("At most " + MAX_MULTI_GET + " users can be requested at once");
+        }
+        Map<String, UserProfileDto> found = userProfileReadRepository.findDtosByUsernames(new LinkedHashSet<>(usernames))
+                .stream()
+                .collect(Collectors.toMap(UserProfileDto::getUsername, Function.identity()));
+        return MultiGetResult.of(usernames, found);
+    }
+
+    @Transactional(readOnly = true)
     public UserProfileDto getUserByAuthUserId(Long authUserId) {
-        UserProfile userProfile = userProfileRepository.findByAuthUserId(authUserId)
+        return userProfileReadRepository.findDtoByAuthUserId(authUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User profile not found for auth user ID: " + authUserId));
-        return convertToDto(userProfile);
     }
 
+    @Transactional(readOnly = true)
     public UserProfileDto getCurrentUserProfile() {
         String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
         return getUserByUsername(currentUsername);
     }
 
+    /**
+     * Conditional GET validators of a profile, read without loading the row.
+     */
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER') or authentication.name == #username")
+    @Transactional(readOnly = true)
+    public EntityFreshness getUserFreshnessByUsername(String username) {
+        return userProfileReadRepository.findFreshnessByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+
+    @Transactional(readOnly = true)
+    public EntityFreshness getUserFreshnessByAuthUserId(Long authUserId) {
+        return userProfileReadRepository.findFreshnessByAuthUserId(authUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User profile not found for auth user ID: " + authUserId));
+    }
+
+    @Transactional(readOnly = true)
+    public EntityFreshness getCurrentUserFreshness() {
+        String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        return getUserFreshnessByUsername(currentUsername);
+    }
+
     public UserProfileDto createUserProfile(CreateUserProfileRequest request) {
         // Check if profile already exists
         if (userProfileRepository.existsByAuthUserId(request.getAuthUserId())) {
@@ -145,15 +200,23 @@ public class UserProfileService {
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public Page<UserProfileDto> searchUsers(String searchTerm, Pageable pageable) {
-        return userProfileRepository.findBySearchTerm(searchTerm, pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<UserProfileDto> searchUsers(String searchTerm, SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return userProfileReadRepository.findDtosBySearchTerm(searchTerm, pageable);
+        }
+        return UserProfileReadRepository.SPARSE_PROJECTION.page(entityManager, fields,
+                UserProfileReadRepository.SEARCH_CONDITION, Map.of("search", searchTerm), pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public Page<UserProfileDto> getUsersByStatus(UserProfile.UserStatus status, Pageable pageable) {
-        return userProfileRepository.findByStatus(status, pageable)
-                .map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public Page<UserProfileDto> getUsersByStatus(UserProfile.UserStatus status, SparseFields fields, Pageable pageable) {
+        if (fields.isAll()) {
+            return userProfileReadRepository.findDtosByStatus(status, pageable);
+        }
+        return UserProfileReadRepository.SPARSE_PROJECTION.page(entityManager, fields,
+                " WHERE u.status = :status", Map.of("status", status), pageable);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -5,6 +5,7 @@ import com.logistics.common.exception.ResourceNotFoundException;
 import com.logistics.user.dto.UserDto;
 import com.logistics.user.entity.UserProfile;
 import com.logistics.user.repository.UserProfileRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,7 +13,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for basic user operations.
@@ -29,6 +32,7 @@ public class UserService {
 
     private final UserProfileRepository userProfileRepository;
     private final UserActivityService userActivityService;
+    private final EntityManager entityManager;
 
     /**
      * Get all users.
@@ -42,6 +46,23 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Hand every user to the sink while the result set is read.
+     * Profiles are read into a read-only session and detached once converted.
+     * 
+     * @param sink receives each user in id order
+     */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserDto> sink) {
+        log.debug("Streaming all users");
+        try (Stream<UserProfile> profiles = userProfileRepository.streamAll()) {
+            profiles.forEach(profile -> {
+                sink.accept(convertToDto(profile));
+                entityManager.detach(profile);
+            });
+        }
+    }
+
     /**
      * Get user by ID.
      * 